@@ -1,5 +1,6 @@
 // Hand-written CI2 Compiler-interpreter
 import java.io.*;
+import java.lang.invoke.*;
 import java.util.*;
 //======================================================
 class CI2
@@ -9,20 +10,37 @@ class CI2
   {
     System.out.println("CI2 interpreter written by Marc Gagliardo");
 
-    if (args.length != 1)
+    // options precede the base file name; -reg picks the
+    // register machine instead of the s-machine
+    CI2CodeGen cg = new CI2CodeGen();
+    for (int i = 0; i < args.length - 1; i++)
+      if (args[i].equals("-reg"))
+        cg = new CI2RegCodeGen();
+    int argIndex = 0;
+    while (argIndex < args.length - 1 &&
+           args[argIndex].startsWith("-"))
+    {
+      String option = args[argIndex++];
+      if (!cg.setOption(option))
+      {
+        System.err.println("Unknown option " + option);
+        System.exit(1);
+      }
+    }
+
+    if (args.length - argIndex != 1)
     {
        System.err.println("Wrong number cmd line args");
        System.exit(1);
     }
 
     // construct input file name and object
-    String inFileName = args[0] + ".s";
+    String inFileName = args[argIndex] + ".s";
     Scanner inFile = new Scanner(new File(inFileName));
 
     // construct objects for compiler/interpreter
     CI2SymTab st = new CI2SymTab();
     CI2TokenMgr tm = new CI2TokenMgr(inFile);
-    CI2CodeGen cg = new CI2CodeGen();
     CI2Parser parser = new CI2Parser(st, tm, cg);
 
     // parse, translate, and interpret
@@ -63,6 +81,18 @@ interface CI2Constants
   int PUSHCONSTANT = 17;
   int HALT = 18;
 
+  // combined opcodes made by CI2CodeGen.fuse() under -O,
+  // in the order of PLUS, MINUS, TIMES, DIVIDE
+  int PLUSVAR = 19;                      // PUSH i, PLUS
+  int MINUSVAR = 20;
+  int TIMESVAR = 21;
+  int DIVIDEVAR = 22;
+  int PLUSCONSTANT = 23;         // PUSHCONSTANT c, PLUS
+  int MINUSCONSTANT = 24;
+  int TIMESCONSTANT = 25;
+  int DIVIDECONSTANT = 26;
+  int TIMESVARVAR = 27;         // PUSH i, PUSH j, TIMES
+
   // tokenImage provides string for each token kind
   String[] tokenImage =
   {
@@ -113,6 +143,61 @@ class CI2SymTab
   }
 }                                    // end of CI2SymTab
 //======================================================
+// Pool of identifier images.  intern() returns the one
+// String in the pool with the given chars, adding it if
+// it is new, so a name used many times is built once.
+//
+class CI2NamePool
+{
+  // open addressing, kept at most half full
+  private String[] table;
+  private int size;
+  //-----------------------------------------
+  public CI2NamePool()
+  {
+    table = new String[64];
+  }
+  //-----------------------------------------
+  public String intern(CharSequence chars)
+  {
+    int h = 0;                // same hash as String
+    for (int i = 0; i < chars.length(); i++)
+      h = 31 * h + chars.charAt(i);
+
+    int mask = table.length - 1;
+    int slot = (h ^ (h >>> 16)) & mask;
+    String s;
+    while ((s = table[slot]) != null)
+    {
+      if (s.hashCode() == h && s.contentEquals(chars))
+        return s;
+      slot = (slot + 1) & mask;
+    }
+
+    s = chars.toString();
+    table[slot] = s;
+    if (2 * ++size > table.length)
+      rehash();
+    return s;
+  }
+  //-----------------------------------------
+  private void rehash()
+  {
+    String[] old = table;
+    table = new String[2 * old.length];
+    int mask = table.length - 1;
+    for (String s : old)
+      if (s != null)
+      {
+        int h = s.hashCode();
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (table[slot] != null)
+          slot = (slot + 1) & mask;
+        table[slot] = s;
+      }
+  }
+}                                  // end of CI2NamePool
+//======================================================
 class CI2TokenMgr implements CI2Constants
 {
   private Scanner inFile;
@@ -121,14 +206,16 @@ class CI2TokenMgr implements CI2Constants
   private int currentLineNumber;
   private String inputLine;    // holds 1 line of input
   private Token token;         // holds 1 token
-  private StringBuffer buffer; // token image built here
+  private StringBuilder buffer; // token image built here
+  private CI2NamePool names;    // shared identifier images
   //-----------------------------------------
   public CI2TokenMgr(Scanner inFile)
   {
     this.inFile = inFile;
     currentChar = '\n';        //  '\n' triggers read
     currentLineNumber = 0;
-    buffer = new StringBuffer();
+    buffer = new StringBuilder();
+    names = new CI2NamePool();
   }
   //-----------------------------------------
   public Token getNextToken()
@@ -181,16 +268,16 @@ class CI2TokenMgr implements CI2Constants
         token.endColumn = currentColumnNumber;
         getNextChar();
       } while (Character.isLetterOrDigit(currentChar));
-      // save buffer as String in token.image
-      token.image = buffer.toString();
 
-      // check if keyword
-      if (token.image.equals("println"))
-        token.kind = PRINTLN;
-      else if (token.image.equals("print"))
-        token.kind = PRINT;
-      else  // not a keyword so kind is ID
-        token.kind = ID;
+      // check if keyword before building an image; a
+      // name used many times shares one String
+      token.kind = identifierKind();
+      if (token.kind == PRINTLN)
+        token.image = "println";
+      else if (token.kind == PRINT)
+        token.image = "print";
+      else
+        token.image = names.intern(buffer);
     }
 
     else  // process single-character token
@@ -245,6 +332,34 @@ class CI2TokenMgr implements CI2Constants
     return token;
   }
   //-----------------------------------------
+  // Return the kind of the identifier in buffer.  The
+  // length and first char pick the one keyword, if any,
+  // that it can be, so at most one keyword is compared.
+  //
+  private int identifierKind()
+  {
+    switch (buffer.length())
+    {
+      case 5:
+        if (buffer.charAt(0) == 'p' && bufferEquals("print"))
+          return PRINT;
+        break;
+      case 7:
+        if (buffer.charAt(0) == 'p' && bufferEquals("println"))
+          return PRINTLN;
+        break;
+    }
+    return ID;  // not a keyword so kind is ID
+  }
+  //-----------------------------------------
+  private boolean bufferEquals(String s)
+  {
+    for (int i = 1; i < s.length(); i++)
+      if (buffer.charAt(i) != s.charAt(i))
+        return false;
+    return true;
+  }
+  //-----------------------------------------
   private void getNextChar()
   {
     if (currentChar == EOF)         // do nothing if EOF
@@ -367,7 +482,7 @@ class CI2Parser implements CI2Constants
   {
     program();
     cg.makevtab(st.getSize());
-    cg.interpret();
+    cg.execute();
   }
   //-----------------------------------------
   private void program()
@@ -583,22 +698,47 @@ class CI2Parser implements CI2Constants
 //======================================================
 class CI2CodeGen implements CI2Constants
 {
-  private ArrayList<Integer> scode;      // holds s-code
-  private Stack<Integer> s;   // stack used by s-machine
+  private int[] scode;                   // holds s-code
+  private int size;          // number of ints in scode
   int[] vtab;                     // table for variables
-  private int pc;    // program ctr (index of next inst)
-  private int opcode;   // opcode of current instruction
+  private boolean tree;                         // -tree
+  private boolean jit;                           // -jit
+  private boolean optimize;                        // -O
 
   public CI2CodeGen()
   {
-    scode = new ArrayList<Integer>();
-    s = new Stack<Integer>();
-    pc = 0; // start executing scode at index 0 in scode
+    this(1024);
+  }
+  //-----------------------------------------
+  // scode starts with room for capacity ints; 0 for a
+  // subclass that keeps its code elsewhere.
+  //
+  CI2CodeGen(int capacity)
+  {
+    scode = new int[capacity];
+    size = 0;
+  }
+  //-----------------------------------------
+  // Set the option named by arg.  Return false if there
+  // is no such option.
+  //
+  public boolean setOption(String arg)
+  {
+    switch (arg)
+    {
+      case "-tree":       tree = true;      break;
+      case "-jit":        jit = true;       break;
+      case "-O":          optimize = true;  break;
+      default:            return false;
+    }
+    return true;
   }
   //-----------------------------------------
   public void emit(int inst)
   {
-    scode.add(inst);        // emit instruction to scode
+    if (size == scode.length)
+      scode = Arrays.copyOf(scode, 2 * size);
+    scode[size++] = inst;   // emit instruction to scode
   }
   //-----------------------------------------
   public void makevtab(int size)
@@ -606,57 +746,1130 @@ class CI2CodeGen implements CI2Constants
     vtab = new int[size];  // create table for variables
   }
   //-----------------------------------------
-  public void interpret() // interprets s-code in scode
+  // The s-code has no jumps, so one pass over it
+  // gives the deepest the stack can get.
+  //
+  private int maxDepth()
   {
-    boolean doAgain = true;
-    int right;
+    int depth = 0, max = 0;
+    int pc = 0;
+    while (pc < size)
+    {
+      switch(scode[pc++])
+      {
+        case PUSHCONSTANT:
+        case PUSH:
+          pc++;
+          if (++depth > max)
+            max = depth;
+          break;
+        case ASSIGN:
+          pc++;
+          depth--;
+          break;
+        case PRINTLN:
+        case PRINT:
+        case PLUS:
+        case MINUS:
+        case TIMES:
+        case DIVIDE:
+          depth--;
+          break;
+        case PLUSVAR:
+        case MINUSVAR:
+        case TIMESVAR:
+        case DIVIDEVAR:
+        case PLUSCONSTANT:
+        case MINUSCONSTANT:
+        case TIMESCONSTANT:
+        case DIVIDECONSTANT:
+          pc++;
+          break;
+        case TIMESVARVAR:
+          pc += 2;
+          if (++depth > max)
+            max = depth;
+          break;
+        default:
+          break;
+      }
+    }
+    return max;
+  }
+  //-----------------------------------------
+  // Rewrite the s-code in place, replacing a push
+  // followed by an arithmetic op, or the product of two
+  // variables, with one combined instruction.  These
+  // were the most frequent sequences in an opcode census
+  // of generated programs.  The code only gets shorter,
+  // so the write index w never passes the read index r.
+  //
+  private void fuse()
+  {
+    int r = 0, w = 0;
+    int op, next;
 
-    do
+    while (r < size)
     {
-      // fetch the opcode of the next instruction
-      opcode = scode.get(pc++);
+      op = scode[r++];
+      next = r + 1 < size ? scode[r + 1] : HALT;
+      if (op == PUSH && next == PUSH && r + 3 < size &&
+          scode[r + 3] == TIMES)
+      {
+        scode[w++] = TIMESVARVAR;
+        scode[w++] = scode[r];
+        scode[w++] = scode[r + 2];
+        r += 4;
+      }
+      else if ((op == PUSH || op == PUSHCONSTANT) &&
+               next >= PLUS && next <= DIVIDE)
+      {
+        scode[w++] = (op == PUSH ? PLUSVAR : PLUSCONSTANT) +
+                     next - PLUS;
+        scode[w++] = scode[r];
+        r += 2;
+      }
+      else
+      {
+        scode[w++] = op;
+        for (int n = operands(op); n > 0; n--)
+          scode[w++] = scode[r++];
+      }
+    }
+    size = w;
+  }
+  //-----------------------------------------
+  // Return the number of operands that follow opcode op.
+  //
+  private static int operands(int op)
+  {
+    if (op == TIMESVARVAR)
+      return 2;
+    if (op == PUSH || op == PUSHCONSTANT || op == ASSIGN ||
+        op >= PLUSVAR)
+      return 1;
+    return 0;
+  }
+
+  //-----------------------------------------
+  // Run the s-code in the mode picked by the options.
+  //
+  public void execute()
+  {
+    CI2Jit compiler;
+
+    if (jit &&
+        (compiler = new CI2Jit(scode, size, vtab.length)).fits())
+      compiler.run(vtab);
+    else if (tree)
+      CI2Stmt.run(buildTree(), vtab);
+    else
+    {
+      if (optimize)
+        fuse();
+      interpret();
+    }
+  }
+  //-----------------------------------------
+  // Translate the s-code once into statements whose
+  // expression nodes have their operands bound, by
+  // running it on a stack of nodes instead of values.
+  //
+  CI2Stmt[] buildTree()
+  {
+    ArrayList<CI2Stmt> stmts = new ArrayList<CI2Stmt>();
+    CI2Node[] stack = new CI2Node[maxDepth()];
+    CI2Node[] variables = new CI2Node[vtab.length];
+    int sp = 0;
+    int pc = 0;
+    int index;
+    CI2Node right;
+
+    while (pc < size)
+    {
+      switch(scode[pc++])
+      {
+        case PRINTLN:
+          stmts.add(new CI2Stmt.Print(stack[--sp], true));
+          break;
+        case PRINT:
+          stmts.add(new CI2Stmt.Print(stack[--sp], false));
+          break;
+        case ASSIGN:
+          stmts.add(new CI2Stmt.Assign(scode[pc++],
+                                       stack[--sp]));
+          break;
+        case PLUS:
+          right = stack[--sp];
+          stack[sp - 1] = new CI2Node.Add(stack[sp - 1], right);
+          break;
+        case MINUS:
+          right = stack[--sp];
+          stack[sp - 1] = new CI2Node.Sub(stack[sp - 1], right);
+          break;
+        case TIMES:
+          right = stack[--sp];
+          stack[sp - 1] = new CI2Node.Mul(stack[sp - 1], right);
+          break;
+        case DIVIDE:
+          right = stack[--sp];
+          stack[sp - 1] = new CI2Node.Div(stack[sp - 1], right);
+          break;
+        case PUSHCONSTANT:
+          stack[sp++] = new CI2Node.Constant(scode[pc++]);
+          break;
+        case PUSH:             // one shared node per variable
+          index = scode[pc++];
+          if (variables[index] == null)
+            variables[index] = new CI2Node.Variable(index);
+          stack[sp++] = variables[index];
+          break;
 
-      // decode opcode and execute instruction
-      switch(opcode)
+        case HALT:
+        default:
+          pc = size;
+          break;
+      }
+    }
+    return stmts.toArray(new CI2Stmt[stmts.size()]);
+  }
+  //-----------------------------------------
+  public void interpret() // interprets s-code in scode
+  {
+    // everything the loop touches is held in locals
+    int[] code = scode;
+    int[] vtab = this.vtab;
+    int[] stack = new int[maxDepth()];
+    int pc = 0;       // program ctr (index of next inst)
+    int sp = 0;          // stack ptr (index of next slot)
+    PrintStream out = System.out;
+
+    while (true)
+    {
+      // fetch, decode, and execute next instruction
+      switch(code[pc++])
       {
         case PRINTLN:
-          System.out.println(s.pop());
+          out.println(stack[--sp]);
           break;
         case PRINT:
-          System.out.print(s.pop());
+          out.print(stack[--sp]);
           break;
         case ASSIGN:
-          vtab[scode.get(pc++)] = s.pop();
+          vtab[code[pc++]] = stack[--sp];
           break;
         case PLUS:
-          right = s.pop();
-          s.push(s.pop() + right);
+          sp--;
+          stack[sp - 1] += stack[sp];
           break;
         case MINUS:
-          right = s.pop();
-          s.push(s.pop() - right);
+          sp--;
+          stack[sp - 1] -= stack[sp];
           break;
         case TIMES:
-          right = s.pop();
-          s.push(s.pop() * right);
+          sp--;
+          stack[sp - 1] *= stack[sp];
           break;
         case DIVIDE:
-          right = s.pop();
-          s.push(s.pop() / right);
+          sp--;
+          stack[sp - 1] /= stack[sp];
           break;
         case PUSHCONSTANT:
-          s.push(scode.get(pc++));
+          stack[sp++] = code[pc++];
           break;
         case PUSH:
-          s.push(vtab[scode.get(pc++)]);
+          stack[sp++] = vtab[code[pc++]];
+          break;
+        case PLUSVAR:
+          stack[sp - 1] += vtab[code[pc++]];
           break;
+        case MINUSVAR:
+          stack[sp - 1] -= vtab[code[pc++]];
+          break;
+        case TIMESVAR:
+          stack[sp - 1] *= vtab[code[pc++]];
+          break;
+        case DIVIDEVAR:
+          stack[sp - 1] /= vtab[code[pc++]];
+          break;
+        case PLUSCONSTANT:
+          stack[sp - 1] += code[pc++];
+          break;
+        case MINUSCONSTANT:
+          stack[sp - 1] -= code[pc++];
+          break;
+        case TIMESCONSTANT:
+          stack[sp - 1] *= code[pc++];
+          break;
+        case DIVIDECONSTANT:
+          stack[sp - 1] /= code[pc++];
+          break;
+        case TIMESVARVAR:
+          stack[sp++] = vtab[code[pc]] * vtab[code[pc + 1]];
+          pc += 2;
+          break;
+
         case HALT:
-          doAgain = false;
+        default:
+          return;
+
+      }
+    }
+  }
+}                             // end of CI2CodeGen class
+//======================================================
+// Code generator and interpreter for a register machine.
+// The parser drives it through emit() exactly as it does
+// the s-machine, and it translates each stack op as it
+// arrives into three-address code, so that
+// x = a + b * c is TIMES t0 b c, PLUS x a t0.
+//
+// Every operand is an index into one int[] frame that
+// holds the variables (the vtab), then one temporary per
+// stack level, then the constants, which are stored once
+// before the program runs.  Instructions reuse the
+// s-machine opcodes:
+//
+//   PLUS/MINUS/TIMES/DIVIDE d a b    frame[d] = a op b
+//   ASSIGN d a                       frame[d] = a
+//   PRINT/PRINTLN a
+//   HALT
+//
+class CI2RegCodeGen extends CI2CodeGen
+{
+  private int[] rcode;                // register code
+  private int codeSize;      // number of ints in rcode
+  private int pending;   // opcode awaiting its operand
+  private int last;  // index of dest of last op, or -1
+
+  // operands of the stack ops still to be consumed.
+  // Until makevtab(), variable i is i, temporary k is
+  // -2k-1, and constant j is -2j-2.
+  private int[] operands;
+  private int sp;
+  private int temps;          // deepest the stack gets
+
+  private HashMap<Integer, Integer> constantIndex;
+  private int[] constants;
+  private int constantCount;
+  //-----------------------------------------
+  public CI2RegCodeGen()
+  {
+    super(0);
+    rcode = new int[1024];
+    codeSize = 0;
+    pending = -1;
+    last = -1;
+    operands = new int[64];
+    sp = 0;
+    constantIndex = new HashMap<Integer, Integer>();
+    constants = new int[64];
+  }
+  //-----------------------------------------
+  // The register machine has no other modes.
+  //
+  public boolean setOption(String arg)
+  {
+    return arg.equals("-reg");
+  }
+  //-----------------------------------------
+  public void emit(int inst)
+  {
+    // inst is the operand of a PUSH, PUSHCONSTANT, or
+    // ASSIGN
+    if (pending >= 0)
+    {
+      int op = pending;
+      pending = -1;
+      if (op == PUSH)
+        push(inst);
+      else if (op == PUSHCONSTANT)
+        push(constant(inst));
+      else
+        assign(inst);
+      return;
+    }
+
+    switch(inst)
+    {
+      case PUSH:
+      case PUSHCONSTANT:
+      case ASSIGN:
+        pending = inst;
+        break;
+      case PLUS:
+      case MINUS:
+      case TIMES:
+      case DIVIDE:
+        int right = operands[--sp];
+        int left = operands[--sp];
+        int dest = -2 * sp - 1;  // temporary for this level
+        add(inst);
+        last = codeSize;
+        add(dest);
+        add(left);
+        add(right);
+        push(dest);
+        break;
+      case PRINTLN:
+      case PRINT:
+        add(inst);
+        add(operands[--sp]);
+        last = -1;
+        break;
+      default:
+        add(HALT);
+        last = -1;
+        break;
+    }
+  }
+  //-----------------------------------------
+  private void push(int operand)
+  {
+    if (sp == operands.length)
+      operands = Arrays.copyOf(operands, 2 * sp);
+    operands[sp++] = operand;
+    if (sp > temps)
+      temps = sp;
+  }
+  //-----------------------------------------
+  // Store the top of the stack in variable index.  If the
+  // last op computed it, that op stores to the variable
+  // directly instead of to its temporary.
+  //
+  private void assign(int index)
+  {
+    int source = operands[--sp];
+    if (last >= 0 && rcode[last] == source)
+      rcode[last] = index;
+    else
+    {
+      add(ASSIGN);
+      add(index);
+      add(source);
+    }
+    last = -1;
+  }
+  //-----------------------------------------
+  private int constant(int value)
+  {
+    Integer j = constantIndex.get(value);
+    if (j == null)
+    {
+      if (constantCount == constants.length)
+        constants = Arrays.copyOf(constants, 2 * constantCount);
+      j = constantCount;
+      constants[constantCount++] = value;
+      constantIndex.put(value, j);
+    }
+    return -2 * j - 2;
+  }
+  //-----------------------------------------
+  private void add(int inst)
+  {
+    if (codeSize == rcode.length)
+      rcode = Arrays.copyOf(rcode, 2 * codeSize);
+    rcode[codeSize++] = inst;
+  }
+  //-----------------------------------------
+  // Lay out the frame now that the number of variables
+  // is known, and turn every operand into a frame index.
+  //
+  public void makevtab(int variables)
+  {
+    int[] frame = new int[variables + temps + constantCount];
+    int base = variables + temps;
+    System.arraycopy(constants, 0, frame, base, constantCount);
+
+    int pc = 0;
+    int n;
+    while (pc < codeSize)
+    {
+      switch(rcode[pc++])
+      {
+        case PLUS:
+        case MINUS:
+        case TIMES:
+        case DIVIDE:
+          n = 3;
+          break;
+        case ASSIGN:
+          n = 2;
+          break;
+        case PRINTLN:
+        case PRINT:
+          n = 1;
           break;
         default:
-          doAgain = false;
+          n = 0;
           break;
       }
-    } while (doAgain);
+      for (; n > 0; n--, pc++)
+        if (rcode[pc] < 0 && rcode[pc] % 2 != 0)
+          rcode[pc] = variables + (-rcode[pc] - 1) / 2;
+        else if (rcode[pc] < 0)
+          rcode[pc] = base + (-rcode[pc] - 2) / 2;
+    }
+    vtab = frame;
   }
-}                             // end of CI2CodeGen class
+  //-----------------------------------------
+  public void execute()
+  {
+    interpret();
+  }
+  //-----------------------------------------
+  public void interpret() // interprets register code
+  {
+    int[] code = rcode;
+    int[] frame = vtab;
+    int pc = 0;
+    PrintStream out = System.out;
+
+    while (true)
+    {
+      switch(code[pc])
+      {
+        case PRINTLN:
+          out.println(frame[code[pc + 1]]);
+          pc += 2;
+          break;
+        case PRINT:
+          out.print(frame[code[pc + 1]]);
+          pc += 2;
+          break;
+        case ASSIGN:
+          frame[code[pc + 1]] = frame[code[pc + 2]];
+          pc += 3;
+          break;
+        case PLUS:
+          frame[code[pc + 1]] =
+                    frame[code[pc + 2]] + frame[code[pc + 3]];
+          pc += 4;
+          break;
+        case MINUS:
+          frame[code[pc + 1]] =
+                    frame[code[pc + 2]] - frame[code[pc + 3]];
+          pc += 4;
+          break;
+        case TIMES:
+          frame[code[pc + 1]] =
+                    frame[code[pc + 2]] * frame[code[pc + 3]];
+          pc += 4;
+          break;
+        case DIVIDE:
+          frame[code[pc + 1]] =
+                    frame[code[pc + 2]] / frame[code[pc + 3]];
+          pc += 4;
+          break;
+        case HALT:
+        default:
+          return;
+      }
+    }
+  }
+}                                // end of CI2RegCodeGen
+
+//======================================================
+// Statement of the -tree mode.  A program is an array of
+// these, run in order with no opcode dispatch.
+//
+abstract class CI2Stmt
+{
+  abstract void exec(int[] vtab);
+  //-----------------------------------------
+  static void run(CI2Stmt[] stmts, int[] vtab)
+  {
+    for (CI2Stmt s : stmts)
+      s.exec(vtab);
+  }
+  //-----------------------------------------
+  static final class Assign extends CI2Stmt
+  {
+    private final int index;
+    private final CI2Node value;
+
+    Assign(int index, CI2Node value)
+    {
+      this.index = index;
+      this.value = value;
+    }
+
+    void exec(int[] vtab)
+    {
+      vtab[index] = value.eval(vtab);
+    }
+  }
+  //-----------------------------------------
+  static final class Print extends CI2Stmt
+  {
+    private final CI2Node value;
+    private final boolean newline;
+
+    Print(CI2Node value, boolean newline)
+    {
+      this.value = value;
+      this.newline = newline;
+    }
+
+    void exec(int[] vtab)
+    {
+      if (newline)
+        System.out.println(value.eval(vtab));
+      else
+        System.out.print(value.eval(vtab));
+    }
+  }
+}                                      // end of CI2Stmt
+//======================================================
+// Expression node of the -tree mode.  Each node holds its
+// constant, vtab index, or operand nodes.
+//
+abstract class CI2Node
+{
+  abstract int eval(int[] vtab);
+  //-----------------------------------------
+  static final class Constant extends CI2Node
+  {
+    private final int value;
+
+    Constant(int value)
+    {
+      this.value = value;
+    }
+
+    int eval(int[] vtab)
+    {
+      return value;
+    }
+  }
+  //-----------------------------------------
+  static final class Variable extends CI2Node
+  {
+    private final int index;
+
+    Variable(int index)
+    {
+      this.index = index;
+    }
+
+    int eval(int[] vtab)
+    {
+      return vtab[index];
+    }
+  }
+  //-----------------------------------------
+  static final class Add extends CI2Node
+  {
+    private final CI2Node left, right;
+
+    Add(CI2Node left, CI2Node right)
+    {
+      this.left = left;
+      this.right = right;
+    }
+
+    int eval(int[] vtab)
+    {
+      return left.eval(vtab) + right.eval(vtab);
+    }
+  }
+  //-----------------------------------------
+  static final class Sub extends CI2Node
+  {
+    private final CI2Node left, right;
+
+    Sub(CI2Node left, CI2Node right)
+    {
+      this.left = left;
+      this.right = right;
+    }
+
+    int eval(int[] vtab)
+    {
+      return left.eval(vtab) - right.eval(vtab);
+    }
+  }
+  //-----------------------------------------
+  static final class Mul extends CI2Node
+  {
+    private final CI2Node left, right;
+
+    Mul(CI2Node left, CI2Node right)
+    {
+      this.left = left;
+      this.right = right;
+    }
+
+    int eval(int[] vtab)
+    {
+      return left.eval(vtab) * right.eval(vtab);
+    }
+  }
+  //-----------------------------------------
+  static final class Div extends CI2Node
+  {
+    private final CI2Node left, right;
+
+    Div(CI2Node left, CI2Node right)
+    {
+      this.left = left;
+      this.right = right;
+    }
+
+    int eval(int[] vtab)
+    {
+      return left.eval(vtab) / right.eval(vtab);
+    }
+  }
+}                                      // end of CI2Node
+//======================================================
+// Translates s-code to JVM bytecode for -jit.  The program
+// is cut at statement boundaries into chunks, and each
+// chunk becomes the static method run(int[] vtab) of a
+// hidden class.  A chunk copies the variables it uses from
+// vtab into local ints, keeps operands on the JVM stack,
+// and copies the ones it assigns back before returning.
+//
+class CI2Jit implements CI2Constants
+{
+  private static final int MAX_CODE = 65535; // JVM limit
+  private static final int MAX_OP_BYTES = 7; // per s-code op
+  private static final int VAR_BYTES = 18; // copy in and out
+
+  // JVM opcodes
+  private static final int ICONST_0 = 3;
+  private static final int BIPUSH = 16;
+  private static final int SIPUSH = 17;
+  private static final int LDC = 18;
+  private static final int LDC_W = 19;
+  private static final int ILOAD = 21;
+  private static final int ILOAD_0 = 26;
+  private static final int ALOAD_0 = 42;
+  private static final int IALOAD = 46;
+  private static final int ISTORE = 54;
+  private static final int ISTORE_0 = 59;
+  private static final int IASTORE = 79;
+  private static final int SWAP = 95;
+  private static final int IADD = 96;
+  private static final int ISUB = 100;
+  private static final int IMUL = 104;
+  private static final int IDIV = 108;
+  private static final int RETURN = 177;
+  private static final int GETSTATIC = 178;
+  private static final int INVOKEVIRTUAL = 182;
+  private static final int WIDE = 196;
+
+  private static final MethodType RUN_TYPE =
+              MethodType.methodType(void.class, int[].class);
+
+  private int[] scode;
+  private int size;
+  private int variables;               // length of vtab
+  private int statementOps; // set by statementEnd()
+  private MethodHandles.Lookup lookup;
+
+  // class file of the current chunk
+  private Bytes pool, code, head;
+  private int poolCount;        // index of next entry
+  private int fixedLength, fixedCount; // entries all share
+  private HashMap<Integer, Integer> constants;
+  private boolean[] used, assigned;
+  private int[] usedList;
+  private int usedCount;
+  private int maxStack;
+
+  // pool indexes of the shared entries
+  private int thisClass, superClass, runName, runType,
+              codeName, out, println, print;
+  //-----------------------------------------
+  public CI2Jit(int[] scode, int size, int variables)
+  {
+    this.scode = scode;
+    this.size = size;
+    this.variables = variables;
+    lookup = MethodHandles.lookup();
+    pool = new Bytes();
+    code = new Bytes();
+    head = new Bytes();
+    constants = new HashMap<Integer, Integer>();
+    used = new boolean[variables];
+    assigned = new boolean[variables];
+    usedList = new int[variables];
+
+    poolCount = 1;
+    thisClass = classRef(utf8("CI2JitCode"));
+    superClass = classRef(utf8("java/lang/Object"));
+    runName = utf8("run");
+    runType = utf8("([I)V");
+    codeName = utf8("Code");
+    out = memberRef(9, classRef(utf8("java/lang/System")),
+                    nameAndType(utf8("out"),
+                                utf8("Ljava/io/PrintStream;")));
+    int printStream = classRef(utf8("java/io/PrintStream"));
+    int intToVoid = utf8("(I)V");
+    println = memberRef(10, printStream,
+                  nameAndType(utf8("println"), intToVoid));
+    print = memberRef(10, printStream,
+                  nameAndType(utf8("print"), intToVoid));
+    fixedLength = pool.length;
+    fixedCount = poolCount;
+  }
+  //-----------------------------------------
+  // Return true if every statement fits in a method with
+  // room to copy every variable in and out.  Otherwise
+  // the program must be interpreted.
+  //
+  public boolean fits()
+  {
+    int reserve = VAR_BYTES * variables + 1;
+    int pc = 0;
+    while (pc < size && scode[pc] != HALT)
+    {
+      pc = statementEnd(pc);
+      if (reserve + MAX_OP_BYTES * statementOps > MAX_CODE)
+        return false;
+    }
+    return true;
+  }
+  //-----------------------------------------
+  public void run(int[] vtab)
+  {
+    int reserve = VAR_BYTES * variables + 1;
+    int pc = 0, end;
+
+    startChunk();
+    while (pc < size && scode[pc] != HALT)
+    {
+      end = statementEnd(pc);
+      if (code.length + reserve +
+          MAX_OP_BYTES * statementOps > MAX_CODE)
+      {
+        runChunk(vtab);
+        startChunk();
+      }
+      emitStatement(pc, end);
+      pc = end;
+    }
+    if (code.length > 0)
+      runChunk(vtab);
+  }
+  //-----------------------------------------
+  // Return the index just past the statement that starts
+  // at pc, the point where its stack is empty again.
+  //
+  private int statementEnd(int pc)
+  {
+    int depth = 0;
+    statementOps = 0;
+    do
+    {
+      statementOps++;
+      switch(scode[pc++])
+      {
+        case PUSHCONSTANT:
+        case PUSH:
+          pc++;
+          depth++;
+          break;
+        case ASSIGN:
+          pc++;
+          depth--;
+          break;
+        default:
+          depth--;
+          break;
+      }
+    } while (depth > 0 && pc < size);
+    return pc;
+  }
+  //-----------------------------------------
+  private void startChunk()
+  {
+    pool.length = fixedLength;
+    poolCount = fixedCount;
+    constants.clear();
+    code.length = 0;
+    for (int i = 0; i < usedCount; i++)
+      used[usedList[i]] = assigned[usedList[i]] = false;
+    usedCount = 0;
+    maxStack = 3;              // copying vtab in and out
+  }
+  //-----------------------------------------
+  private void emitStatement(int pc, int end)
+  {
+    int depth = 0;
+    int index;
+
+    while (pc < end)
+    {
+      switch(scode[pc++])
+      {
+        case PRINTLN:
+        case PRINT:
+          code.u1(GETSTATIC);
+          code.u2(out);
+          code.u1(SWAP);
+          code.u1(INVOKEVIRTUAL);
+          code.u2(scode[pc - 1] == PRINTLN ? println : print);
+          depth--;
+          break;
+        case ASSIGN:
+          index = use(scode[pc++]);
+          assigned[index] = true;
+          local(code, ISTORE, index);
+          depth--;
+          break;
+        case PLUS:
+          code.u1(IADD);
+          depth--;
+          break;
+        case MINUS:
+          code.u1(ISUB);
+          depth--;
+          break;
+        case TIMES:
+          code.u1(IMUL);
+          depth--;
+          break;
+        case DIVIDE:
+          code.u1(IDIV);
+          depth--;
+          break;
+        case PUSHCONSTANT:
+          pushInt(code, scode[pc++]);
+          depth++;
+          break;
+        case PUSH:
+          local(code, ILOAD, use(scode[pc++]));
+          depth++;
+          break;
+      }
+
+      // one more for System.out under a printed value
+      if (depth + 1 > maxStack)
+        maxStack = depth + 1;
+    }
+  }
+  //-----------------------------------------
+  private int use(int index)
+  {
+    if (!used[index])
+    {
+      used[index] = true;
+      usedList[usedCount++] = index;
+    }
+    return index;
+  }
+  //-----------------------------------------
+  // Emit a load or store of the local that holds vtab
+  // entry index.  Local 0 is vtab itself.
+  //
+  private void local(Bytes b, int op, int index)
+  {
+    int slot = index + 1;
+    if (slot <= 3)
+      b.u1((op == ILOAD ? ILOAD_0 : ISTORE_0) + slot);
+    else if (slot <= 255)
+    {
+      b.u1(op);
+      b.u1(slot);
+    }
+    else
+    {
+      b.u1(WIDE);
+      b.u1(op);
+      b.u2(slot);
+    }
+  }
+  //-----------------------------------------
+  private void pushInt(Bytes b, int value)
+  {
+    if (value >= -1 && value <= 5)
+      b.u1(ICONST_0 + value);
+    else if (value == (byte)value)
+    {
+      b.u1(BIPUSH);
+      b.u1(value);
+    }
+    else if (value == (short)value)
+    {
+      b.u1(SIPUSH);
+      b.u2(value);
+    }
+    else
+    {
+      Integer index = constants.get(value);
+      if (index == null)
+      {
+        index = poolCount++;
+        pool.u1(3);                  // CONSTANT_Integer
+        pool.u4(value);
+        constants.put(value, index);
+      }
+      if (index <= 255)
+      {
+        b.u1(LDC);
+        b.u1(index);
+      }
+      else
+      {
+        b.u1(LDC_W);
+        b.u2(index);
+      }
+    }
+  }
+  //-----------------------------------------
+  private void runChunk(int[] vtab)
+  {
+    MethodHandle run;
+    try
+    {
+      MethodHandles.Lookup chunk =
+                   lookup.defineHiddenClass(classFile(), true);
+      run = chunk.findStatic(chunk.lookupClass(), "run",
+                             RUN_TYPE);
+    }
+    catch (ReflectiveOperationException e)
+    {
+      throw new RuntimeException("JIT failed: " + e);
+    }
+
+    try
+    {
+      run.invokeExact(vtab);
+    }
+    catch (RuntimeException | Error e)
+    {
+      throw e;
+    }
+    catch (Throwable e)
+    {
+      throw new RuntimeException(e);
+    }
+  }
+  //-----------------------------------------
+  // Wrap the chunk's code in a class with one method.
+  // Nothing branches, so no StackMapTable is needed.
+  //
+  private byte[] classFile()
+  {
+    // copy used variables in, then run, then copy out
+    head.length = 0;
+    for (int i = 0; i < usedCount; i++)
+    {
+      head.u1(ALOAD_0);
+      pushInt(head, usedList[i]);
+      head.u1(IALOAD);
+      local(head, ISTORE, usedList[i]);
+    }
+    head.write(code);
+    for (int i = 0; i < usedCount; i++)
+      if (assigned[usedList[i]])
+      {
+        head.u1(ALOAD_0);
+        pushInt(head, usedList[i]);
+        local(head, ILOAD, usedList[i]);
+        head.u1(IASTORE);
+      }
+    head.u1(RETURN);
+
+    Bytes b = new Bytes();
+    b.u4(0xCAFEBABE);
+    b.u2(0);
+    b.u2(52);                                 // Java 8
+    b.u2(poolCount);
+    b.write(pool);
+    b.u2(0x0030);                  // ACC_FINAL | ACC_SUPER
+    b.u2(thisClass);
+    b.u2(superClass);
+    b.u2(0);                                 // interfaces
+    b.u2(0);                                     // fields
+    b.u2(1);                                    // methods
+    b.u2(0x0009);                 // ACC_PUBLIC | ACC_STATIC
+    b.u2(runName);
+    b.u2(runType);
+    b.u2(1);                                 // attributes
+    b.u2(codeName);
+    b.u4(12 + head.length);
+    b.u2(maxStack);
+    b.u2(variables + 1);
+    b.u4(head.length);
+    b.write(head);
+    b.u2(0);                            // exception table
+    b.u2(0);                      // attributes of Code
+    b.u2(0);                       // attributes of class
+    return Arrays.copyOf(b.data, b.length);
+  }
+  //-----------------------------------------
+  private int utf8(String s)
+  {
+    pool.u1(1);
+    pool.u2(s.length());
+    for (int i = 0; i < s.length(); i++)
+      pool.u1(s.charAt(i));
+    return poolCount++;
+  }
+  //-----------------------------------------
+  private int classRef(int name)
+  {
+    pool.u1(7);
+    pool.u2(name);
+    return poolCount++;
+  }
+  //-----------------------------------------
+  private int nameAndType(int name, int type)
+  {
+    pool.u1(12);
+    pool.u2(name);
+    pool.u2(type);
+    return poolCount++;
+  }
+  //-----------------------------------------
+  // tag is 9 for a field, 10 for a method
+  //
+  private int memberRef(int tag, int owner, int nameAndType)
+  {
+    pool.u1(tag);
+    pool.u2(owner);
+    pool.u2(nameAndType);
+    return poolCount++;
+  }
+  //=========================================
+  // Big-endian byte buffer that grows as needed
+  //
+  private static class Bytes
+  {
+    byte[] data = new byte[1024];
+    int length;
+    //---------------------------------------
+    void u1(int b)
+    {
+      if (length == data.length)
+        data = Arrays.copyOf(data, 2 * length);
+      data[length++] = (byte)b;
+    }
+    //---------------------------------------
+    void u2(int v)
+    {
+      u1(v >> 8);
+      u1(v);
+    }
+    //---------------------------------------
+    void u4(int v)
+    {
+      u2(v >> 16);
+      u2(v);
+    }
+    //---------------------------------------
+    void write(Bytes b)
+    {
+      if (length + b.length > data.length)
+        data = Arrays.copyOf(data,
+                     Math.max(2 * data.length, length + b.length));
+      System.arraycopy(b.data, 0, data, length, b.length);
+      length += b.length;
+    }
+  }
+}                                       // end of CI2Jit
+
+
@@ -0,0 +1,335 @@
+// Golden-output check for S3 and CI2
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+//======================================================
+// Compiles the S3 samples in every mode and runs the
+// CI2 sample in every mode, and compares each output
+// with the expected one in the golden directory.  The
+// S3 samples are S3.s, test.s, and golden/errors.s;
+// base.a is expected without -O and base.O.a with it.
+// The CI2 sample is golden/ci2.s and its output is
+// golden/ci2.out.  Also compiles a few generated
+// programs that are too big to keep.  With -update,
+// the expected files are first rewritten from the
+// plain modes.  Run from the directory holding S3.s:
+//
+//   javac Token.java S3.java CI2.java Check.java
+//   java Check [-update]
+//
+class Check
+{
+  private static final String[] SAMPLES =
+                {"S3", "test", "golden/errors"};
+
+  private static final String[] S3_MODES =
+      {"", "-mmap", "-dfa", "-parallel", "-parallel -dfa",
+       "-pipeline", "-pipeline -mmap", "-pipeline -dfa"};
+
+  private static final String[] CI2_MODES =
+      {"", "-tree", "-jit", "-O", "-O -tree", "-O -jit",
+       "-reg"};
+
+  private static Path work;
+  private static int checks;
+  private static int failures;
+  //-----------------------------------------
+  public static void main(String[] args) throws
+                                             IOException
+  {
+    boolean update = args.length == 1 &&
+                     args[0].equals("-update");
+    if (args.length != (update ? 1 : 0))
+    {
+      System.err.println("Usage: java Check [-update]");
+      System.exit(1);
+    }
+
+    work = Files.createTempDirectory("check");
+    if (update)
+    {
+      for (String sample : SAMPLES)
+      {
+        write(expectedName(sample, ""),
+              compile("", source(sample)));
+        write(expectedName(sample, "-O"),
+              compile("-O", source(sample)));
+      }
+      write("golden/ci2.out", run("", source("golden/ci2")));
+    }
+
+    for (String sample : SAMPLES)
+    {
+      checkS3(sample, "");
+      checkS3(sample, "-O");
+    }
+    for (String mode : CI2_MODES)
+      check("golden/ci2 " + mode,
+            run(mode, source("golden/ci2")),
+            Files.readAllBytes(Paths.get("golden/ci2.out")));
+    checkGenerated();
+
+    for (File f : work.toFile().listFiles())
+      f.delete();
+    Files.delete(work);
+
+    System.out.println(checks + " checks, " + failures +
+                       " failed");
+    System.exit(failures == 0 ? 0 : 1);
+  }
+  //-----------------------------------------
+  // Compile sample in each mode, with -O if optimize is
+  // "-O", through the command line path, the server,
+  // and a pooled S3Compiler, and compare each with the
+  // expected .a file.
+  //
+  private static void checkS3(String sample,
+                     String optimize) throws IOException
+  {
+    byte[] source = source(sample);
+    byte[] expected = Files.readAllBytes(Paths.get(
+                           expectedName(sample, optimize)));
+    for (String mode : S3_MODES)
+    {
+      String options = (mode + " " + optimize).trim();
+      String name = sample + " " + options;
+      check(name + " (file)", compileFile(options, source,
+                                          false), expected);
+      check(name + " (server)", compile(options, source),
+            expected);
+    }
+
+    // the object file, read back, is the .a file less
+    // its comment and blank lines
+    check(sample + " " + optimize + " -obj",
+          compileFile(optimize + " -obj", source, true),
+          instructions(expected));
+
+    // chunks far smaller than the sample, so lines and
+    // tokens are split at many chunk boundaries
+    for (int chunkSize = 1; chunkSize <= 64; chunkSize *= 4)
+      check(sample + " " + optimize + " chunk " + chunkSize,
+            compileChunked(optimize, source, chunkSize),
+            expected);
+
+    // a pooled compiler, twice so the second compile
+    // reuses it; without -O it lexes with a DFA
+    S3Options options = new S3Options();
+    options.set(optimize.isEmpty() ? "-dfa" : optimize);
+    for (int i = 0; i < 2; i++)
+    {
+      S3Compiler compiler = S3Compiler.get(options);
+      StringBuilder out = new StringBuilder();
+      compiler.compile(new String(source), out);
+      compiler.release();
+      check(sample + " " + optimize + " S3Compiler " + i,
+            out.toString().getBytes(), expected);
+    }
+  }
+  //-----------------------------------------
+  // Compile source as work/t.s with the options in
+  // optionText, as on the command line.  Return t.a, or
+  // with readObject set, the text S3ObjectReader makes
+  // of t.o.
+  //
+  private static byte[] compileFile(String optionText,
+                    byte[] source, boolean readObject)
+                                        throws IOException
+  {
+    S3Options options = new S3Options();
+    for (String option : optionText.trim().split(" +"))
+      if (!option.isEmpty())
+        options.set(option);
+    String base = work.resolve("t").toString();
+    Files.write(Paths.get(base + ".s"), source);
+    S3.compile(base, options,
+               options.useDfa ? S3TokenMgr.makeDfa() : null);
+    if (!readObject)
+      return Files.readAllBytes(Paths.get(base + ".a"));
+
+    ByteArrayOutputStream text = new ByteArrayOutputStream();
+    S3AsmWriter out = new S3AsmWriter(
+                        Channels.newChannel(text), 1 << 16);
+    S3ObjectReader reader = new S3ObjectReader(
+                Files.readAllBytes(Paths.get(base + ".o")));
+    reader.write(out, false);
+    out.close();
+    return text.toByteArray();
+  }
+  //-----------------------------------------
+  // Compile source lexed in parallel by chunks of
+  // chunkSize bytes.
+  //
+  private static byte[] compileChunked(String optimize,
+                    byte[] source, int chunkSize)
+                                        throws IOException
+  {
+    S3Options options = new S3Options();
+    options.set(optimize.isEmpty() ? "-parallel" : optimize);
+    ByteBuffer buffer = ByteBuffer.wrap(source);
+    ByteArrayOutputStream asm = new ByteArrayOutputStream();
+    S3AsmWriter asmFile = new S3AsmWriter(
+                         Channels.newChannel(asm), 1 << 16);
+    S3TokenFeed feed = new S3ParallelLexer(
+                 buffer.duplicate(), null,
+                 ForkJoinPool.commonPool(), chunkSize);
+    S3.translate(new S3MappedReader(buffer.duplicate()),
+                 feed, asmFile, null, options, null);
+    return asm.toByteArray();
+  }
+  //-----------------------------------------
+  // Lines of asm that are not comments or blank, up to
+  // the error message, which the object file leaves out.
+  //
+  private static byte[] instructions(byte[] asm)
+  {
+    StringBuilder sb = new StringBuilder();
+    for (String line : new String(asm).split("\n"))
+    {
+      if (line.startsWith("Encountered "))
+        break;
+      if (!line.isEmpty() && !line.startsWith(";"))
+        sb.append(line).append('\n');
+    }
+    return sb.toString().getBytes();
+  }
+  //-----------------------------------------
+  // Interpret source with CI2 in the mode given by
+  // optionText.  Return what it printed.
+  //
+  private static byte[] run(String optionText,
+                            byte[] source)
+  {
+    CI2CodeGen cg = optionText.contains("-reg") ?
+                    new CI2RegCodeGen() : new CI2CodeGen();
+    for (String option : optionText.trim().split(" +"))
+      if (!option.isEmpty())
+        cg.setOption(option);
+    CI2Parser parser = new CI2Parser(new CI2SymTab(),
+          new CI2TokenMgr(new Scanner(new String(source))),
+          cg);
+
+    PrintStream stdout = System.out;
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(out, true));
+    try
+    {
+      parser.parse();
+    }
+    catch (RuntimeException e)
+    {
+      System.out.println(e.getMessage());
+    }
+    finally
+    {
+      System.setOut(stdout);
+    }
+    return out.toByteArray();
+  }
+  //-----------------------------------------
+  // Programs too big to keep: each must compile without
+  // error, and the same in every mode.
+  //
+  private static void checkGenerated() throws IOException
+  {
+    // 20000 variables, first used in reverse order, in
+    // statements past the 1 MB chunk size; the dw lines
+    // must keep that order
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 100000; i++)
+    {
+      String v = "v" + (19999 - i % 20000);
+      sb.append(v).append(" = ").append(v).append(" + ")
+        .append(i).append(";\n");
+    }
+    byte[] expected = checkAllModes("long", sb);
+
+    StringBuilder dw = new StringBuilder();
+    for (String line : new String(expected).split("\n"))
+      if (line.startsWith("v"))
+        dw.append(line, 0, line.indexOf(':')).append(' ');
+    StringBuilder order = new StringBuilder();
+    for (int i = 19999; i >= 0; i--)
+      order.append("v").append(i).append(' ');
+    check("long dw order",
+          dw.toString().equals(order.toString()));
+
+    // a long operator chain and a long run of signs,
+    // far past what recursion on the thread stack allows
+    sb.setLength(0);
+    sb.append("x = 1");
+    for (int i = 0; i < 100000; i++)
+      sb.append(" + 1");
+    sb.append(";\ny = ");
+    for (int i = 0; i < 100000; i++)
+      sb.append("- ");
+    sb.append("1;\nprintln(x + y);\n");
+    checkAllModes("deep", sb);
+  }
+  //-----------------------------------------
+  // Compile source in each mode.  Return what the
+  // plain mode makes.
+  //
+  private static byte[] checkAllModes(String name,
+                  CharSequence program) throws IOException
+  {
+    byte[] source = program.toString().getBytes();
+    byte[] expected = compile("", source);
+    check(name + " error",
+          !new String(expected).contains("\nEncountered"));
+    for (String mode : S3_MODES)
+      check(name + " " + mode,
+            compileFile(mode, source, false), expected);
+    return expected;
+  }
+  //-----------------------------------------
+  // Compile source as S3Server does.  Return the .a
+  // text.
+  //
+  private static byte[] compile(String optionText,
+                                byte[] source)
+  {
+    ByteArrayOutputStream asm = new ByteArrayOutputStream();
+    S3Server.compile(optionText, source, asm);
+    return asm.toByteArray();
+  }
+  //-----------------------------------------
+  private static void check(String name, byte[] actual,
+                            byte[] expected)
+  {
+    check(name, Arrays.equals(actual, expected));
+  }
+  //-----------------------------------------
+  private static void check(String name, boolean ok)
+  {
+    checks++;
+    if (!ok)
+    {
+      failures++;
+      System.out.println("FAIL " + name);
+    }
+  }
+  //-----------------------------------------
+  private static String expectedName(String sample,
+                                     String optimize)
+  {
+    String name = "golden/" +
+                  Paths.get(sample).getFileName();
+    return name + (optimize.isEmpty() ? ".a" : ".O.a");
+  }
+  //-----------------------------------------
+  private static byte[] source(String sample) throws
+                                             IOException
+  {
+    return Files.readAllBytes(Paths.get(sample + ".s"));
+  }
+  //-----------------------------------------
+  private static void write(String fileName, byte[] bytes)
+                                        throws IOException
+  {
+    Files.write(Paths.get(fileName), bytes);
+  }
+}                                           // end of Check
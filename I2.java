@@ -116,6 +116,61 @@ class I2SymTab
   }
 }                               // end of I2SymTab class
 //======================================================
+// Pool of identifier images.  intern() returns the one
+// String in the pool with the given chars, adding it if
+// it is new, so a name used many times is built once.
+//
+class I2NamePool
+{
+  // open addressing, kept at most half full
+  private String[] table;
+  private int size;
+  //-----------------------------------------
+  public I2NamePool()
+  {
+    table = new String[64];
+  }
+  //-----------------------------------------
+  public String intern(CharSequence chars)
+  {
+    int h = 0;                // same hash as String
+    for (int i = 0; i < chars.length(); i++)
+      h = 31 * h + chars.charAt(i);
+
+    int mask = table.length - 1;
+    int slot = (h ^ (h >>> 16)) & mask;
+    String s;
+    while ((s = table[slot]) != null)
+    {
+      if (s.hashCode() == h && s.contentEquals(chars))
+        return s;
+      slot = (slot + 1) & mask;
+    }
+
+    s = chars.toString();
+    table[slot] = s;
+    if (2 * ++size > table.length)
+      rehash();
+    return s;
+  }
+  //-----------------------------------------
+  private void rehash()
+  {
+    String[] old = table;
+    table = new String[2 * old.length];
+    int mask = table.length - 1;
+    for (String s : old)
+      if (s != null)
+      {
+        int h = s.hashCode();
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (table[slot] != null)
+          slot = (slot + 1) & mask;
+        table[slot] = s;
+      }
+  }
+}                                  // end of I2NamePool
+//======================================================
 class I2TokenMgr implements I2Constants
 {
   private Scanner inFile;
@@ -124,14 +179,16 @@ class I2TokenMgr implements I2Constants
   private int currentLineNumber;
   private String inputLine;    // holds 1 line of input
   private Token token;         // holds 1 token
-  private StringBuffer buffer; // token image built here
+  private StringBuilder buffer; // token image built here
+  private I2NamePool names;    // shared identifier images
   //-----------------------------------------
   public I2TokenMgr(Scanner inFile)
   {
     this.inFile = inFile;
     currentChar = '\n';        //  '\n' triggers read
     currentLineNumber = 0;
-    buffer = new StringBuffer();
+    buffer = new StringBuilder();
+    names = new I2NamePool();
   }
   //-----------------------------------------
   public Token getNextToken()
@@ -184,16 +241,16 @@ class I2TokenMgr implements I2Constants
         token.endColumn = currentColumnNumber;
         getNextChar();
       } while (Character.isLetterOrDigit(currentChar));
-      // save buffer as String in token.image
-      token.image = buffer.toString();
 
-      // check if keyword
-      if (token.image.equals("println"))
-        token.kind = PRINTLN;
-      else if (token.image.equals("print"))
-        token.kind = PRINT;
-      else  // not a keyword so kind is ID
-        token.kind = ID;
+      // check if keyword before building an image; a
+      // name used many times shares one String
+      token.kind = identifierKind();
+      if (token.kind == PRINTLN)
+        token.image = "println";
+      else if (token.kind == PRINT)
+        token.image = "print";
+      else
+        token.image = names.intern(buffer);
     }
     else  // process single-character token
     {
@@ -247,6 +304,34 @@ class I2TokenMgr implements I2Constants
     return token;
   }
   //-----------------------------------------
+  // Return the kind of the identifier in buffer.  The
+  // length and first char pick the one keyword, if any,
+  // that it can be, so at most one keyword is compared.
+  //
+  private int identifierKind()
+  {
+    switch (buffer.length())
+    {
+      case 5:
+        if (buffer.charAt(0) == 'p' && bufferEquals("print"))
+          return PRINT;
+        break;
+      case 7:
+        if (buffer.charAt(0) == 'p' && bufferEquals("println"))
+          return PRINTLN;
+        break;
+    }
+    return ID;  // not a keyword so kind is ID
+  }
+  //-----------------------------------------
+  private boolean bufferEquals(String s)
+  {
+    for (int i = 1; i < s.length(); i++)
+      if (buffer.charAt(i) != s.charAt(i))
+        return false;
+    return true;
+  }
+  //-----------------------------------------
   private void getNextChar()
   {
     if (currentChar == EOF)
@@ -1,771 +1,5086 @@
-// Hand-written S3 compiler
-import java.io.*;
-import java.util.*;
-//======================================================
-class S3
-{
-  public static void main(String[] args) throws
-                                             IOException
-  {
-    System.out.println("S3 compiler written by Marc Gagliardo");
-
-    if (args.length != 1)
-    {
-      System.err.println("Wrong number cmd line args");
-      System.exit(1);
-    }
-
-    // set to true to debug token manager
-    boolean debug = true;
-    if (args[0].equalsIgnoreCase("-debug_token_manager"))
-        debug = true;
-
-    // build the input and output file names
-    String inFileName = args[0] + ".s";
-    String outFileName = args[0] + ".a";
-
-    // construct file objects
-    Scanner inFile = new Scanner(new File(inFileName));
-    PrintWriter outFile = new PrintWriter(outFileName);
-
-    // identify compiler/author in the output file
-    outFile.println("; from S3 compiler written by Marc Gagliardo");
-
-    // construct objects that make up compiler
-    S3SymTab st = new S3SymTab();
-    S3TokenMgr tm =  new S3TokenMgr(inFile, outFile, debug);
-    S3CodeGen cg = new S3CodeGen(outFile, st);
-    S3Parser parser = new S3Parser(st, tm, cg);
-
-    // parse and translate
-    try
-    {
-      parser.parse();
-    }
-    catch (RuntimeException e)
-    {
-      System.err.println(e.getMessage());
-      outFile.println(e.getMessage());
-      outFile.close();
-      System.exit(1);
-    }
-
-    outFile.close();
-  }
-}                                           // end of S3
-//======================================================
-interface S3Constants
-{
-  // integers that identify token kinds
-  int EOF = 0;
-  int PRINTLN = 1;
-  int UNSIGNED = 2;
-  int ID = 3;
-  int ASSIGN = 4;
-  int SEMICOLON = 5;
-  int LEFTPAREN = 6;
-  int RIGHTPAREN = 7;
-  int PLUS = 8;
-  int MINUS = 9;
-  int TIMES = 10;
-  int ERROR = 11;
-  int READINT = 12;
-  int DIVIDE = 13;
-  int LEFTCURLYBRACE = 14;
-  int RIGHTCURLYBRACE = 15;
-  int PRINT = 16;
-  int STRING = 17;
-
-  // tokenImage provides string for each token kind
-  String[] tokenImage =
-  {
-    "<EOF>",
-    "\"println\"",
-    "<UNSIGNED>",
-    "<ID>",
-    "\"=\"",
-    "\";\"",
-    "\"(\"",
-    "\")\"",
-    "\"+\"",
-    "\"-\"",
-    "\"*\"",
-    "<ERROR>",
-    "\"readint\"",
-    "\"/\"",
-    "\"{\"",
-    "\"}\"",
-    "\"print\"",
-    "<STRING>"
-  };
-}                                  // end of S3Constants
-//======================================================
-class S3SymTab
-{
-  private ArrayList<String> symbol;
-  //-----------------------------------------
-  public S3SymTab()
-  {
-    symbol = new ArrayList<String>();
-  }
-  //-----------------------------------------
-  public void enter(String s)
-  {
-    int index = symbol.indexOf(s);
-
-    // if s is not in symbol, then add it
-    if (index < 0)
-      symbol.add(s);
-  }
-  //-----------------------------------------
-  public String getSymbol(int index)
-  {
-    return symbol.get(index);
-  }
-  //-----------------------------------------
-  public int getSize()
-  {
-    return symbol.size();
-  }
-}                                     // end of S3SymTab
-//======================================================
-class S3TokenMgr implements S3Constants
-{
-  private Scanner inFile;
-  private PrintWriter outFile;
-  private boolean debug;
-  private char currentChar;
-  private int currentColumnNumber;
-  private int currentLineNumber;
-  private String inputLine;    // holds 1 line of input
-  private Token token;         // holds 1 token
-  private StringBuffer buffer; // token image built here
-  private boolean inString;
-  //-----------------------------------------
-  public S3TokenMgr(Scanner inFile,
-                    PrintWriter outFile, boolean debug)
-  {
-    this.inFile = inFile;
-    this.outFile = outFile;
-    this.debug = debug;
-    currentChar = '\n';        //  '\n' triggers read
-    currentLineNumber = 0;
-    buffer = new StringBuffer();
-  }
-  //-----------------------------------------
-  public Token getNextToken()
-  {
-    // skip whitespace
-    while (Character.isWhitespace(currentChar))
-      getNextChar();
-
-    // construct token to be returned to parser
-    token = new Token();
-    token.next = null;
-
-    // save start-of-token position
-    token.beginLine = currentLineNumber;
-    token.beginColumn = currentColumnNumber;
-
-    // check for EOF
-    if (currentChar == EOF)
-    {
-      token.image = "<EOF>";
-      token.endLine = currentLineNumber;
-      token.endColumn = currentColumnNumber;
-      token.kind = EOF;
-    }
-
-    else  // check for unsigned int
-    if (Character.isDigit(currentChar))
-    {
-      buffer.setLength(0);  // clear buffer
-      do  // build token image in buffer
-      {
-        buffer.append(currentChar);
-        token.endLine = currentLineNumber;
-        token.endColumn = currentColumnNumber;
-        getNextChar();
-      } while (Character.isDigit(currentChar));
-      // save buffer as String in token.image
-      token.image = buffer.toString();
-      token.kind = UNSIGNED;
-    }
-
-    else  // check for identifier
-    if (Character.isLetter(currentChar))
-    {
-      buffer.setLength(0);  // clear buffer
-      do  // build token image in buffer
-      {
-        buffer.append(currentChar);
-        token.endLine = currentLineNumber;
-        token.endColumn = currentColumnNumber;
-        getNextChar();
-      } while (Character.isLetterOrDigit(currentChar));
-      // save buffer as String in token.image
-      token.image = buffer.toString();
-
-      // check if keyword
-      if (token.image.equals("println"))
-        token.kind = PRINTLN;
-      else if (token.image.equals("print"))
-        token.kind = PRINT;
-      else if (token.image.equals("readint"))
-        token.kind = READINT;
-      else  // not a keyword so kind is ID
-        token.kind = ID;
-    }
-    else //check for String
-    if (currentChar == '"')
-    {
-      inString = true;
-      buffer.setLength(0); // clear buffer
-      do  // build token image in buffer
-      {
-          buffer.append(currentChar);
-          token.endLine = currentLineNumber;
-          token.endColumn = currentColumnNumber;
-          getNextChar();
-      } while (currentChar != '"' && currentChar != '\n');
-      // append ending quote
-      if (currentChar == '"') {
-        buffer.append(currentChar);
-        token.endLine = currentLineNumber;
-        token.endColumn = currentColumnNumber;
-        // save buffer as string in token image
-        token.image = buffer.toString();
-        token.kind = STRING;
-      }
-      else
-        token.kind = ERROR;
-      inString = false;
-      getNextChar();
-    }
-    else  // process single-character token
-    {
-      switch(currentChar)
-      {
-        case '=':
-          token.kind = ASSIGN;
-          break;
-        case ';':
-          token.kind = SEMICOLON;
-          break;
-        case '(':
-          token.kind = LEFTPAREN;
-          break;
-        case ')':
-          token.kind = RIGHTPAREN;
-          break;
-        case '+':
-          token.kind = PLUS;
-          break;
-        case '-':
-          token.kind = MINUS;
-          break;
-        case '*':
-          token.kind = TIMES;
-          break;
-        case '/':
-          token.kind = DIVIDE;
-          break;
-        case '{':
-          token.kind = LEFTCURLYBRACE;
-          break;
-        case '}':
-          token.kind = RIGHTCURLYBRACE;
-          break;
-        default:
-          token.kind = ERROR;
-          break;
-      }
-
-      // save currentChar as String in token.image
-      token.image = Character.toString(currentChar);
-
-      // save end-of-token position
-      token.endLine = currentLineNumber;
-      token.endColumn = currentColumnNumber;
-
-      getNextChar();  // read beyond end of token
-    }
-
-    // token trace appears as comments in output file
-    if (debug)
-      outFile.printf(
-        "; kd=%3d bL=%3d bC=%3d eL=%3d eC=%3d im=%s%n",
-        token.kind, token.beginLine, token.beginColumn,
-        token.endLine, token.endColumn, token.image);
-
-    return token;     // return token to parser
-  }
-  //-----------------------------------------
-  private void getNextChar()
-  {
-    if (currentChar == EOF)
-      return;
-
-    if (currentChar == '\n')        // need next line?
-    {
-      if (inFile.hasNextLine())     // any lines left?
-      {
-        inputLine = inFile.nextLine();  // get next line
-        // output source line as comment
-        outFile.println("; " + inputLine);
-        inputLine = inputLine + "\n";   // mark line end
-        currentColumnNumber = 0;
-        currentLineNumber++;
-      }
-      else  // at end of file
-      {
-         currentChar = EOF;
-         return;
-      }
-    }
-
-    // get next char from inputLine
-    currentChar =
-                inputLine.charAt(currentColumnNumber++);
-
-    // in S3, test for single-line comment goes here
-    if (currentChar == '/' && inputLine.charAt(currentColumnNumber)
-                    == '/' && !inString)
-        currentChar = '\n';
-  }
-}                                   // end of S3TokenMgr
-//======================================================
-class S3Parser implements S3Constants
-{
-  private S3SymTab st;
-  private S3TokenMgr tm;
-  private S3CodeGen cg;
-  private Token currentToken;
-  private Token previousToken;
-  //-----------------------------------------
-  public S3Parser(S3SymTab st, S3TokenMgr tm,
-                                           S3CodeGen cg)
-  {
-    this.st = st;
-    this.tm = tm;
-    this.cg = cg;
-    // prime currentToken with first token
-    currentToken = tm.getNextToken();
-    previousToken = null;
-  }
-  //-----------------------------------------
-  // Construct and return an exception that contains
-  // a message consisting of the image of the current
-  // token, its location, and the expected tokens.
-  //
-  private RuntimeException genEx(String errorMessage)
-  {
-    return new RuntimeException("Encountered \"" +
-      currentToken.image + "\" on line " +
-      currentToken.beginLine + ", column " +
-      currentToken.beginColumn + "." +
-      System.getProperty("line.separator") +
-      errorMessage);
-  }
-  //-----------------------------------------
-  // Advance currentToken to next token.
-  //
-  private void advance()
-  {
-    previousToken = currentToken;
-
-    // If next token is on token list, advance to it.
-    if (currentToken.next != null)
-      currentToken = currentToken.next;
-
-    // Otherwise, get next token from token mgr and
-    // put it on the list.
-    else
-      currentToken =
-                  currentToken.next = tm.getNextToken();
-  }
-  //-----------------------------------------
-  // getToken(i) returns ith token without advancing
-  // in token stream.  getToken(0) returns
-  // previousToken.  getToken(1) returns currentToken.
-  // getToken(2) returns next token, and so on.
-  //
-  private Token getToken(int i)
-  {
-    if (i <= 0)
-      return previousToken;
-
-    Token t = currentToken;
-    for (int j = 1; j < i; j++)  // loop to ith token
-    {
-      // if next token is on token list, move t to it
-      if (t.next != null)
-        t = t.next;
-
-      // Otherwise, get next token from token mgr and
-      // put it on the list.
-      else
-        t = t.next = tm.getNextToken();
-    }
-    return t;
-  }
-  //-----------------------------------------
-  // If the kind of the current token matches the
-  // expected kind, then consume advances to the next
-  // token. Otherwise, it throws an exception.
-  //
-  private void consume(int expected)
-  {
-    if (currentToken.kind == expected)
-      advance();
-    else
-      throw genEx("Expecting " + tokenImage[expected]);
-  }
-  //-----------------------------------------
-  public void parse()
-  {
-    program();   // program is start symbol for grammar
-  }
-  //-----------------------------------------
-  private void program()
-  {
-    statementList();
-    cg.endCode();
-    if (currentToken.kind != EOF)  //garbage at end?
-      throw genEx("Expecting <EOF>");
-  }
-  //-----------------------------------------
-  private void statementList()
-  {
-    switch(currentToken.kind)
-    {
-      case ID:
-      case PRINTLN:
-      case PRINT:
-      case SEMICOLON:
-      case LEFTCURLYBRACE:
-      case READINT:
-        statement();
-        statementList();
-        break;
-      case EOF:
-      case RIGHTCURLYBRACE:
-        ;
-        break;
-      default:
-        throw genEx("Expecting statement or <EOF>");
-    }
-  }
-  //-----------------------------------------
-  private void statement()
-  {
-    switch(currentToken.kind)
-    {
-      case ID:
-        assignmentStatement();
-        break;
-      case PRINTLN:
-        printlnStatement();
-        break;
-      case PRINT:
-        printStatement();
-        break;
-      case SEMICOLON:
-        nullStatement();
-        break;
-      case LEFTCURLYBRACE:
-        compoundStatement();
-        break;
-      case READINT:
-        readintStatement();
-        break;
-      default:
-        throw genEx("Expecting statement");
-    }
-  }
-  //-----------------------------------------
-  private void assignmentStatement()
-  {
-    Token t;
-
-    t = currentToken;
-    consume(ID);
-    st.enter(t.image);
-    cg.emitInstruction("pc", t.image);
-    consume(ASSIGN);
-    assignmentTail();
-    cg.emitInstruction("stav");
-  }
-  //-----------------------------------------
-  private void assignmentTail()
-  {
-    Token t;
-    if (getToken(1).kind == ID && getToken(2).kind == ASSIGN)
-    {
-      t = currentToken;
-      consume(ID);
-      st.enter(t.image);
-      cg.emitInstruction("pc", t.image);
-      consume(ASSIGN);
-      assignmentTail();
-      cg.emitInstruction("dupe");
-      cg.emitInstruction("rot");
-      cg.emitInstruction("stav");
-    }
-    else
-    {
-        expr();
-        consume(SEMICOLON);
-    }
-  }
-  //------------------------------------------
-  private void printlnStatement()
-  {
-    consume(PRINTLN);
-    consume(LEFTPAREN);
-    if (currentToken.kind == RIGHTPAREN)
-      ;
-    else
-      printArg();
-    cg.emitInstruction("pc", "'\\n'");
-    cg.emitInstruction("aout");
-    consume(RIGHTPAREN);
-    consume(SEMICOLON);
-  }
-  //-----------------------------------------
-  private void printStatement()
-  {
-      consume(PRINT);
-      consume(LEFTPAREN);
-      printArg();
-      consume(RIGHTPAREN);
-      consume(SEMICOLON);
-  }
-  //-------------------------------------------
-  private void printArg()
-  {
-      Token t;
-      String label;
-      switch (currentToken.kind)
-      {
-        case LEFTPAREN:
-        case PLUS:
-        case MINUS:
-        case UNSIGNED:
-        case ID:
-          expr();
-          cg.emitInstruction("dout");
-          break;
-        case STRING:
-          t = currentToken;
-          consume(STRING);
-          label = cg.getLabel();
-          cg.emitInstruction("pc", label);
-          cg.emitInstruction("sout");
-          cg.emitdw("^" + label, t.image);
-          break;
-        default:
-          throw genEx("Expecting String, or expression.");
-    }
-  }
-  //-------------------------------------------
-  private void nullStatement()
-  {
-      consume(SEMICOLON);
-  }
-  private void expr()
-  {
-    term();
-    termList();
-  }
-  //-----------------------------------------
-  private void compoundStatement()
-  {
-      consume(LEFTCURLYBRACE);
-      statementList();
-      consume(RIGHTCURLYBRACE);
-  }
-  //------------------------------------------
-  private void readintStatement()
-  {
-      Token t;
-      consume(READINT);
-      consume(LEFTPAREN);
-      t = currentToken;
-      consume(ID);
-      st.enter(t.image);
-      cg.emitInstruction("pc", t.image);
-      cg.emitInstruction("din");
-      cg.emitInstruction("stav");
-      consume(RIGHTPAREN);
-      consume(SEMICOLON);
-  }
-  //------------------------------------------
-  private void termList()
-  {
-    switch(currentToken.kind)
-    {
-      case PLUS:
-        consume(PLUS);
-        term();
-        cg.emitInstruction("add");
-        termList();
-        break;
-      case MINUS:
-        consume(MINUS);
-        term();
-        cg.emitInstruction("sub");
-        termList();
-        break;
-      case RIGHTPAREN:
-      case SEMICOLON:
-        ;
-        break;
-      default:
-        throw genEx("Expecting \"+\", \")\", or \";\"");
-    }
-  }
-  //-----------------------------------------
-  private void term()
-  {
-    factor();
-    factorList();
-  }
-  //-----------------------------------------
-  private void factorList()
-  {
-    switch(currentToken.kind)
-    {
-      case TIMES:
-        consume(TIMES);
-        factor();
-        cg.emitInstruction("mult");
-        factorList();
-        break;
-      case DIVIDE:
-        consume(DIVIDE);
-        factor();
-        cg.emitInstruction("div");
-        factorList();
-        break;
-      case PLUS:
-      case MINUS:
-      case RIGHTPAREN:
-      case SEMICOLON:
-        ;
-        break;
-      default:
-        throw genEx("Expecting op, \")\", or \";\"");
-    }
-  }
-  //-----------------------------------------
-  private void factor()
-  {
-    Token t;
-
-    switch(currentToken.kind)
-    {
-      case UNSIGNED:
-        t = currentToken;
-        consume(UNSIGNED);
-        cg.emitInstruction("pwc", t.image);
-        break;
-      case PLUS:
-        consume(PLUS);
-        factor();
-        break;
-      case MINUS:
-        consume(MINUS);
-        switch (currentToken.kind)
-        {
-          case UNSIGNED:
-            t = currentToken;
-            consume(UNSIGNED);
-            cg.emitInstruction("pwc", "-" + t.image);
-            break;
-          case ID:
-            t = currentToken;
-            consume(ID);
-            st.enter(t.image);
-            cg.emitInstruction("p", t.image);
-            cg.emitInstruction("neg");
-            break;
-          case LEFTPAREN:
-            consume(LEFTPAREN);
-            expr();
-            consume(RIGHTPAREN);
-            cg.emitInstruction("neg");
-            break;
-          case PLUS:
-            consume(PLUS);
-            factor();
-            cg.emitInstruction("neg");
-            break;
-          case MINUS:
-            consume(MINUS);
-            factor();
-            break;
-          default:
-            throw genEx("Expecting UNSIGNED, ID, \"(\", \"+\", or \"-\"");
-        }
-        break;
-      case ID:
-        t = currentToken;
-        consume(ID);
-        st.enter(t.image);
-        cg.emitInstruction("p", t.image);
-        break;
-      case LEFTPAREN:
-        consume(LEFTPAREN);
-        expr();
-        consume(RIGHTPAREN);
-        break;
-      default:
-        throw genEx("Expecting factor");
-    }
-  }
-}                                     // end of S3Parser
-//======================================================
-class S3CodeGen
-{
-  private PrintWriter outFile;
-  private S3SymTab st;
-  private int labelNumber = 0;
-  //-----------------------------------------
-  public S3CodeGen(PrintWriter outFile, S3SymTab st)
-  {
-    this.outFile = outFile;
-    this.st = st;
-  }
-  //-----------------------------------------
-  public void emitInstruction(String op)
-  {
-    outFile.printf("          %-4s%n", op);
-  }
-  //-----------------------------------------
-  public void emitInstruction(String op, String opnd)
-  {
-    outFile.printf("          %-4s      %s%n", op,opnd);
-  }
-  //-----------------------------------------
-  public void emitdw(String label, String value)
-  {
-    outFile.printf(
-             "%-9s dw        %s%n", label + ":", value);
-  }
-  //-----------------------------------------
-  public void endCode()
-  {
-    outFile.println();
-    emitInstruction("halt");
-
-    int size = st.getSize();
-    // emit dw for each symbol in the symbol table
-    for (int i=0; i < size; i++)
-        emitdw(st.getSymbol(i), "0");
-  }
-  public String getLabel()
-  {
-      return "@L" + labelNumber++;
-  }
-}                                    // end of S3CodeGen
+// Hand-written S3 compiler
+import java.io.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+//======================================================
+class S3
+{
+  public static void main(String[] args) throws
+                                             IOException
+  {
+    System.out.println("S3 compiler written by Marc Gagliardo");
+
+    // options precede the base file name, or with -batch
+    // the list of files and directories
+    S3Options options = new S3Options();
+    int argIndex = 0;
+    while (argIndex < args.length - 1 && !options.batch &&
+           args[argIndex].startsWith("-"))
+    {
+      String option = args[argIndex++];
+      if (!options.set(option))
+      {
+        System.err.println("Unknown option " + option);
+        System.exit(1);
+      }
+    }
+
+    if (options.batch)
+    {
+      String[] names = Arrays.copyOfRange(args, argIndex,
+                                          args.length);
+      System.exit(compileBatch(names, options) ? 0 : 1);
+    }
+
+    if (args.length - argIndex != 1)
+    {
+      System.err.println("Wrong number cmd line args");
+      System.exit(1);
+    }
+
+    // set to true to debug token manager
+    if (args[argIndex].equalsIgnoreCase("-debug_token_manager"))
+        options.debug = true;
+
+    S3Dfa dfa = options.useDfa ? S3TokenMgr.makeDfa() : null;
+    String error = compile(args[argIndex], options, dfa);
+    if (error != null)
+    {
+      System.err.println(error);
+      System.exit(1);
+    }
+  }
+  //-----------------------------------------
+  // Compile base.s to base.a.  Return the error message,
+  // which also ends base.a, or null if there was none.
+  // dfa is used if options.useDfa is set; it can be
+  // shared by compiles running at the same time.
+  //
+  static String compile(String base, S3Options options,
+                        S3Dfa dfa) throws IOException
+  {
+    // build the input and output file names
+    String inFileName = base + ".s";
+    String outFileName = base + ".a";
+
+    // construct file objects; the source is closed when
+    // the compile ends, so -batch holds few files open
+    ByteBuffer source = options.mapped || options.parallel ?
+                   S3MappedReader.map(new File(inFileName)) : null;
+    try (S3SourceReader inFile = source != null ?
+             new S3MappedReader(source.duplicate()) :
+             new S3ScannerReader(
+                  S3ScannerReader.open(new File(inFileName))))
+    {
+      S3TokenFeed feed = null;
+      if (options.parallel)
+        feed = new S3ParallelLexer(source, dfa,
+                                   ForkJoinPool.commonPool());
+      else if (options.pipeline)
+        feed = new S3PipelineLexer(options.mapped ?
+            new S3MappedReader(source.duplicate()) :
+            new S3ScannerReader(
+                S3ScannerReader.open(new File(inFileName))),
+            dfa);
+
+      S3AsmWriter asmFile = new S3AsmWriter(outFileName);
+      if (options.pipeline)
+        asmFile.startWriter();
+      S3ObjectWriter objFile = options.object ?
+                           new S3ObjectWriter(base + ".o") : null;
+      return translate(inFile, feed, asmFile, objFile,
+                       options, dfa);
+    }
+  }
+  //-----------------------------------------
+  // Compile the source read from inFile, or lexed by
+  // feed if it is not null (inFile is then only read
+  // for the source echo), to asmFile, and to objFile if
+  // it is not null.  Return the error message, or null.
+  //
+  static String translate(S3SourceReader inFile,
+                          S3TokenFeed feed,
+                          S3AsmWriter asmFile,
+                          S3ObjectWriter objFile,
+                          S3Options options, S3Dfa dfa)
+                                        throws IOException
+  {
+    S3SymTab st = new S3SymTab();
+    S3CodeGen cg = new S3CodeGen(asmFile, st);
+    cg.setOptimizing(options.optimize);
+    if (objFile != null)
+      cg.setObjectFile(objFile);
+    PrintWriter outFile = new PrintWriter(cg.getTextWriter());
+
+    // identify compiler/author in the output file
+    outFile.println("; from S3 compiler written by Marc Gagliardo");
+
+    // construct objects that make up compiler
+    S3TokenMgr tm =  new S3TokenMgr(inFile, outFile,
+                                    options.debug);
+    if (feed != null)
+      tm.setFeed(feed);
+    else if (options.useDfa)
+      tm.setDfa(dfa);
+    S3Parser parser = new S3Parser(st, tm, cg);
+
+    // parse and translate
+    String error = null;
+    try
+    {
+      parser.parse();
+    }
+    catch (RuntimeException e)
+    {
+      error = e.getMessage();
+      outFile.println(error);
+    }
+    finally
+    {
+      // stop lexing if the parse ended before EOF, and
+      // stop the writer thread even if the parse threw
+      // an Error
+      if (feed != null)
+        feed.cancel();
+      outFile.close();
+      cg.close();
+    }
+    return error;
+  }
+  //-----------------------------------------
+  // Compile every file named in names, and every .s file
+  // in or below a directory named there, in one process:
+  // the compiles run as tasks on the common ForkJoinPool.
+  // Errors are reported per file after all are done,
+  // then the totals.  Return true if there were no
+  // errors.
+  //
+  static boolean compileBatch(String[] names,
+                  S3Options options) throws IOException
+  {
+    ArrayList<String> bases = new ArrayList<String>();
+    for (String name : names)
+    {
+      File file = new File(name);
+      if (file.isDirectory())
+        findSources(file, bases);
+      else
+        bases.add(name.endsWith(".s") ?
+                  name.substring(0, name.length() - 2) : name);
+    }
+
+    long startTime = System.nanoTime();
+    S3Dfa dfa = options.useDfa ? S3TokenMgr.makeDfa() : null;
+    ArrayList<ForkJoinTask<String>> tasks =
+                        new ArrayList<ForkJoinTask<String>>();
+    for (String base : bases)
+      tasks.add(ForkJoinPool.commonPool().submit(
+                      () -> compileOrReport(base, options, dfa)));
+
+    int failed = 0;
+    long sourceBytes = 0;
+    for (int k = 0; k < bases.size(); k++)
+    {
+      String error = tasks.get(k).join();
+      if (error != null)
+      {
+        failed++;
+        System.err.println(bases.get(k) + ": " + error);
+      }
+      sourceBytes += new File(bases.get(k) + ".s").length();
+    }
+    double seconds = (System.nanoTime() - startTime) / 1e9;
+
+    System.out.println(String.format(
+        "%d files, %d with errors, %.3f s, %.1f files/s, " +
+        "%.1f KB/s of source", bases.size(), failed, seconds,
+        bases.size() / seconds, sourceBytes / 1024.0 / seconds));
+    return failed == 0;
+  }
+  //-----------------------------------------
+  // Like compile(), but an I/O error is reported as the
+  // compile's error message.
+  //
+  private static String compileOrReport(String base,
+                                 S3Options options, S3Dfa dfa)
+  {
+    try
+    {
+      return compile(base, options, dfa);
+    }
+    catch (IOException | UncheckedIOException e)
+    {
+      return e.toString();
+    }
+  }
+  //-----------------------------------------
+  // Add the base name of each .s file in or below dir,
+  // in name order.
+  //
+  private static void findSources(File dir,
+                                  ArrayList<String> bases)
+  {
+    File[] files = dir.listFiles();
+    if (files == null)
+      return;
+    Arrays.sort(files);
+    for (File file : files)
+    {
+      String path = file.getPath();
+      if (file.isDirectory())
+        findSources(file, bases);
+      else if (path.endsWith(".s"))
+        bases.add(path.substring(0, path.length() - 2));
+    }
+  }
+}                                           // end of S3
+//======================================================
+// Options given before the file names.
+//
+class S3Options
+{
+  boolean mapped;              // -mmap
+  boolean useDfa;              // -dfa
+  boolean parallel;            // -parallel
+  boolean optimize;            // -O
+  boolean object;              // -obj
+  boolean pipeline;            // -pipeline
+  boolean batch;               // -batch
+  boolean debug = true;        // token trace
+  //-----------------------------------------
+  // Set the option named by arg.  Return false if there
+  // is no such option.
+  //
+  boolean set(String arg)
+  {
+    switch (arg)
+    {
+      case "-mmap":       mapped = true;    break;
+      case "-dfa":        useDfa = true;    break;
+      case "-parallel":   parallel = true;  break;
+      case "-O":          optimize = true;  break;
+      case "-obj":        object = true;    break;
+      case "-pipeline":   pipeline = true;  break;
+      case "-batch":      batch = true;     break;
+      default:            return false;
+    }
+    return true;
+  }
+}                                       // end of S3Options
+//======================================================
+interface S3Constants
+{
+  // integers that identify token kinds
+  int EOF = 0;
+  int PRINTLN = 1;
+  int UNSIGNED = 2;
+  int ID = 3;
+  int ASSIGN = 4;
+  int SEMICOLON = 5;
+  int LEFTPAREN = 6;
+  int RIGHTPAREN = 7;
+  int PLUS = 8;
+  int MINUS = 9;
+  int TIMES = 10;
+  int ERROR = 11;
+  int READINT = 12;
+  int DIVIDE = 13;
+  int LEFTCURLYBRACE = 14;
+  int RIGHTCURLYBRACE = 15;
+  int PRINT = 16;
+  int STRING = 17;
+
+  // tokenImage provides string for each token kind
+  String[] tokenImage =
+  {
+    "<EOF>",
+    "\"println\"",
+    "<UNSIGNED>",
+    "<ID>",
+    "\"=\"",
+    "\";\"",
+    "\"(\"",
+    "\")\"",
+    "\"+\"",
+    "\"-\"",
+    "\"*\"",
+    "<ERROR>",
+    "\"readint\"",
+    "\"/\"",
+    "\"{\"",
+    "\"}\"",
+    "\"print\"",
+    "<STRING>"
+  };
+
+  // opcodes of the stack machine
+  int PC = 18;
+  int PWC = 19;
+  int P = 20;
+  int STAV = 21;
+  int ADD = 22;
+  int SUB = 23;
+  int MULT = 24;
+  int DIV = 25;
+  int NEG = 26;
+  int DUPE = 27;
+  int ROT = 28;
+  int DOUT = 29;
+  int AOUT = 30;
+  int SOUT = 31;
+  int DIN = 32;
+  int HALT = 33;
+
+  // mnemonic[op - PC] is the assembler name of opcode op
+  String[] mnemonic =
+  {
+    "pc", "pwc", "p", "stav", "add", "sub", "mult", "div",
+    "neg", "dupe", "rot", "dout", "aout", "sout", "din",
+    "halt"
+  };
+}                                  // end of S3Constants
+//======================================================
+class S3SymTab
+{
+  private ArrayList<String> symbol;  // in first-seen order
+
+  // Open-addressing hash index over symbol.  Each slot
+  // holds 1 + the index of a symbol in symbol, or 0 if
+  // the slot is empty.  Kept at most half full.
+  private int[] hashIndex;
+  //-----------------------------------------
+  public S3SymTab()
+  {
+    symbol = new ArrayList<String>();
+    hashIndex = new int[64];
+  }
+  //-----------------------------------------
+  public int enter(String s)
+  {
+    int slot = findSlot(s);
+
+    // if s is in symbol then return its index
+    if (hashIndex[slot] != 0)
+      return hashIndex[slot] - 1;
+
+    // add s to symbol, return its index
+    int index = symbol.size();
+    symbol.add(s);
+    hashIndex[slot] = index + 1;
+    if (2 * symbol.size() > hashIndex.length)
+      rehash();
+    return index;
+  }
+  //-----------------------------------------
+  // Return index of s in symbol, or -1 if s is not in
+  // the symbol table.
+  //
+  public int getIndex(String s)
+  {
+    return hashIndex[findSlot(s)] - 1;
+  }
+  //-----------------------------------------
+  // Return the slot in hashIndex that holds s, or the
+  // empty slot where s belongs (linear probing).
+  //
+  private int findSlot(String s)
+  {
+    int mask = hashIndex.length - 1;
+    int h = s.hashCode();
+    int slot = (h ^ (h >>> 16)) & mask;
+
+    while (hashIndex[slot] != 0 &&
+           !symbol.get(hashIndex[slot] - 1).equals(s))
+      slot = (slot + 1) & mask;
+    return slot;
+  }
+  //-----------------------------------------
+  private void rehash()
+  {
+    hashIndex = new int[2 * hashIndex.length];
+    for (int i = 0; i < symbol.size(); i++)
+      hashIndex[findSlot(symbol.get(i))] = i + 1;
+  }
+  //-----------------------------------------
+  public String getSymbol(int index)
+  {
+    return symbol.get(index);
+  }
+  //-----------------------------------------
+  public int getSize()
+  {
+    return symbol.size();
+  }
+  //-----------------------------------------
+  // Remove all symbols, keeping the arrays for reuse.
+  //
+  public void clear()
+  {
+    symbol.clear();
+    Arrays.fill(hashIndex, 0);
+  }
+}                                     // end of S3SymTab
+//======================================================
+// An S3SourceReader supplies S3TokenMgr with one line
+// of input at a time.  nextLine() reads the next line,
+// without its line terminator, into the array returned
+// by getLine() and returns its length, or -1 at end of
+// file.  The array always has room for one more char
+// past the end of the line.  close() releases the file,
+// if any, that the reader holds open.
+//
+interface S3SourceReader extends AutoCloseable
+{
+  int nextLine() throws IOException;
+  char[] getLine();
+  void close();
+}                               // end of S3SourceReader
+//======================================================
+class S3ScannerReader implements S3SourceReader
+{
+  private Scanner inFile;
+  private char[] line;
+  //-----------------------------------------
+  public S3ScannerReader(Scanner inFile)
+  {
+    this.inFile = inFile;
+    line = new char[256];
+  }
+  //-----------------------------------------
+  // Return a Scanner on file that decodes with the
+  // default charset and replaces bytes it cannot decode,
+  // as S3MappedReader does.  Scanner(File) would take
+  // the first such byte as the end of the file.
+  //
+  static Scanner open(File file) throws IOException
+  {
+    CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+                  .onMalformedInput(CodingErrorAction.REPLACE)
+                  .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    return new Scanner(Channels.newReader(
+               new FileInputStream(file).getChannel(), decoder, -1));
+  }
+  //-----------------------------------------
+  public int nextLine()
+  {
+    if (!inFile.hasNextLine())      // any lines left?
+      return -1;
+
+    String s = inFile.nextLine();
+    if (s.length() >= line.length)
+      line = new char[2 * s.length() + 1];
+    s.getChars(0, s.length(), line, 0);
+    return s.length();
+  }
+  //-----------------------------------------
+  public char[] getLine()
+  {
+    return line;
+  }
+  //-----------------------------------------
+  public void close()
+  {
+    inFile.close();
+  }
+}                              // end of S3ScannerReader
+//======================================================
+// Reads a source file through a read-only memory
+// mapping.  If the default charset decodes ASCII as
+// ASCII and the source has no other bytes, lines are
+// copied straight from the mapped bytes into one
+// reusable char array.  Otherwise the whole source is
+// decoded once with the default charset, replacing
+// bytes it cannot decode, just as S3ScannerReader
+// reads it, and lines are taken from that.  Line
+// terminators are the same ones Scanner.nextLine()
+// recognizes, so line numbers match S3ScannerReader.
+//
+class S3MappedReader implements S3SourceReader
+{
+  private static final boolean asciiCharset = isAsciiCharset();
+
+  private ByteBuffer buf;
+  private int pos;
+  private char[] line;
+  private S3CharSequenceReader decoded;  // if not ASCII
+  //-----------------------------------------
+  public S3MappedReader(File file) throws IOException
+  {
+    this(map(file));
+  }
+  //-----------------------------------------
+  public S3MappedReader(ByteBuffer buf)
+  {
+    this.buf = buf;
+    pos = buf.position();
+    line = new char[256];
+    if (!asciiCharset || !isAscii(buf))
+      decoded = new S3CharSequenceReader(
+                   Charset.defaultCharset().decode(buf.duplicate()));
+  }
+  //-----------------------------------------
+  private static boolean isAsciiCharset()
+  {
+    byte[] ascii = new byte[0x80];
+    for (int c = 0; c < ascii.length; c++)
+      ascii[c] = (byte)c;
+    return new String(ascii, Charset.defaultCharset()).equals(
+              new String(ascii, StandardCharsets.US_ASCII));
+  }
+  //-----------------------------------------
+  private static boolean isAscii(ByteBuffer buf)
+  {
+    for (int i = buf.position(); i < buf.limit(); i++)
+      if (buf.get(i) < 0)
+        return false;
+    return true;
+  }
+  //-----------------------------------------
+  static ByteBuffer map(File file)
+                                        throws IOException
+  {
+    try (FileChannel ch = FileChannel.open(file.toPath(),
+                                  StandardOpenOption.READ))
+    {
+      if (ch.size() > Integer.MAX_VALUE)
+        throw new IOException(file + " is too large to map");
+      return ch.map(FileChannel.MapMode.READ_ONLY, 0,
+                                                ch.size());
+    }
+  }
+  //-----------------------------------------
+  public int nextLine()
+  {
+    if (decoded != null)
+      return decoded.nextLine();
+
+    int limit = buf.limit();
+    if (pos >= limit)
+      return -1;
+
+    int len = 0;
+    while (pos < limit)
+    {
+      if (len + 1 >= line.length)
+        line = Arrays.copyOf(line, 2 * line.length);
+
+      int b = buf.get(pos++);
+      if (b == '\n')
+        return len;
+      if (b == '\r')
+      {
+        if (pos < limit && buf.get(pos) == '\n')
+          pos++;
+        return len;
+      }
+      line[len++] = (char)b;
+    }
+    return len;
+  }
+  //-----------------------------------------
+  public char[] getLine()
+  {
+    return decoded != null ? decoded.getLine() : line;
+  }
+  //-----------------------------------------
+  // map() closed the file once it was mapped.
+  //
+  public void close()
+  {
+  }
+}                               // end of S3MappedReader
+//======================================================
+// Reads a source held in a CharSequence, breaking lines
+// where Scanner.nextLine() would.  reset() starts it
+// on another source, keeping its line array.
+//
+class S3CharSequenceReader implements S3SourceReader
+{
+  private CharSequence source;
+  private int pos;
+  private char[] line;
+  //-----------------------------------------
+  public S3CharSequenceReader(CharSequence source)
+  {
+    line = new char[256];
+    reset(source);
+  }
+  //-----------------------------------------
+  public void reset(CharSequence source)
+  {
+    this.source = source;
+    pos = 0;
+  }
+  //-----------------------------------------
+  public int nextLine()
+  {
+    int limit = source.length();
+    if (pos >= limit)
+      return -1;
+
+    int len = 0;
+    while (pos < limit)
+    {
+      if (len + 1 >= line.length)
+        line = Arrays.copyOf(line, 2 * line.length);
+
+      char c = source.charAt(pos++);
+      if (c == '\n' || c == 0x85 || c == 0x2028 || c == 0x2029)
+        return len;
+      if (c == '\r')
+      {
+        if (pos < limit && source.charAt(pos) == '\n')
+          pos++;
+        return len;
+      }
+      line[len++] = c;
+    }
+    return len;
+  }
+  //-----------------------------------------
+  public char[] getLine()
+  {
+    return line;
+  }
+  //-----------------------------------------
+  public void close()
+  {
+  }
+}                         // end of S3CharSequenceReader
+//======================================================
+// Tables for a DFA scanner built by S3DfaGenerator.
+// Each state has a row of numClasses entries in trans,
+// starting at state * numClasses.  The entry for class
+// c is the start of the row of the state entered on a
+// char of class c, or 0 (the row of DEAD) if there is
+// none, so the scanning loop needs no multiply.
+// accept[state] is the token kind recognized in
+// state, NONE, SKIP for whitespace, or COMMENT for the
+// start of a comment that runs to the end of the line.
+//
+class S3Dfa
+{
+  static final int DEAD = 0;
+  static final int START = 1;
+  static final int NONE = -1;
+  static final int SKIP = -2;
+  static final int COMMENT = -3;
+
+  final int[] trans;
+  final int numClasses;
+  final int[] accept;
+  final boolean[] noImage;   // token's image is null
+  final int errorKind;       // kind of an unmatched char
+  final int[] asciiClass;    // class of each ASCII char
+  private int spaceClass;
+  private int digitClass;
+  private int letterClass;
+  private int otherClass;
+  //-----------------------------------------
+  public S3Dfa(int[] trans, int[] symbolClass,
+               int[] accept, boolean[] noImage,
+               int errorKind)
+  {
+    this.trans = trans;
+    this.accept = accept;
+    this.noImage = noImage;
+    this.errorKind = errorKind;
+    numClasses = trans.length / accept.length;
+    asciiClass = Arrays.copyOf(symbolClass, 128);
+    spaceClass = symbolClass[S3DfaGenerator.SPACE];
+    digitClass = symbolClass[S3DfaGenerator.DIGIT];
+    letterClass = symbolClass[S3DfaGenerator.LETTER];
+    otherClass = symbolClass[S3DfaGenerator.OTHER];
+  }
+  //-----------------------------------------
+  // Class of a non-ASCII char.  The tests are made in
+  // the same order as in S3TokenMgr.scanToken().
+  //
+  public int classOf(char c)
+  {
+    if (c < 128)
+      return asciiClass[c];
+    if (Character.isWhitespace(c))
+      return spaceClass;
+    if (Character.isDigit(c))
+      return digitClass;
+    if (Character.isLetter(c))
+      return letterClass;
+    return otherClass;
+  }
+}                                         // end of S3Dfa
+//======================================================
+// Lexer generator.  A token spec is given by calling the
+// spec methods; generate() then builds the DFA over 132
+// input symbols (the ASCII chars plus one symbol for each
+// kind of non-ASCII char) and merges symbols whose
+// columns in the transition table are identical into
+// char classes.  Tokens never span lines: no state has
+// a transition on '\n'.
+//
+class S3DfaGenerator
+{
+  static final int SPACE = 128;
+  static final int DIGIT = 129;
+  static final int LETTER = 130;
+  static final int OTHER = 131;
+  static final int NUM_SYMBOLS = 132;
+
+  // the token spec
+  private int identifierKind = S3Dfa.NONE;
+  private int numberKind = S3Dfa.NONE;
+  private int stringKind = S3Dfa.NONE;
+  private int unterminatedKind = S3Dfa.NONE;
+  private int errorKind = S3Dfa.NONE;
+  private LinkedHashMap<String, Integer> keywords =
+                        new LinkedHashMap<String, Integer>();
+  private LinkedHashMap<Character, Integer> operators =
+                     new LinkedHashMap<Character, Integer>();
+  private String commentStart;
+
+  // the DFA under construction
+  private ArrayList<int[]> trans;
+  private ArrayList<Integer> accept;
+  private ArrayList<Boolean> noImage;
+  //-----------------------------------------
+  // letter followed by letters and digits
+  //
+  public void identifier(int kind)
+  {
+    identifierKind = kind;
+  }
+  //-----------------------------------------
+  // identifier that is reserved as token kind kind
+  //
+  public void keyword(String word, int kind)
+  {
+    for (int i = 0; i < word.length(); i++)
+      if (!(i == 0 ? isLetter(word.charAt(i))
+                   : isLetterOrDigit(word.charAt(i))))
+        throw new IllegalArgumentException(
+                  "keyword " + word + " is not an identifier");
+    keywords.put(word, kind);
+  }
+  //-----------------------------------------
+  // one or more digits
+  //
+  public void number(int kind)
+  {
+    numberKind = kind;
+  }
+  //-----------------------------------------
+  // '"' followed by chars up to the next '"' on the same
+  // line.  A string not closed by the end of the line is
+  // a token of kind unterminatedKind with a null image.
+  //
+  public void string(int kind, int unterminatedKind)
+  {
+    stringKind = kind;
+    this.unterminatedKind = unterminatedKind;
+  }
+  //-----------------------------------------
+  public void operator(char c, int kind)
+  {
+    if (isLetterOrDigit(c) || isSpace(c) || c == '"' ||
+        c == '\n' || c == 0)
+      throw new IllegalArgumentException(
+                          "bad operator char '" + c + "'");
+    operators.put(c, kind);
+  }
+  //-----------------------------------------
+  // start followed by the rest of the line is skipped
+  //
+  public void lineComment(String start)
+  {
+    for (int i = 0; i < start.length(); i++)
+    {
+      char c = start.charAt(i);
+      if (isLetterOrDigit(c) || isSpace(c) || c == '"' ||
+          c == '\n' || c == 0)
+        throw new IllegalArgumentException(
+                           "bad comment start " + start);
+    }
+    commentStart = start;
+  }
+  //-----------------------------------------
+  // any other char is a one-char token of kind kind
+  //
+  public void error(int kind)
+  {
+    errorKind = kind;
+  }
+  //-----------------------------------------
+  public S3Dfa generate()
+  {
+    trans = new ArrayList<int[]>();
+    accept = new ArrayList<Integer>();
+    noImage = new ArrayList<Boolean>();
+    newState(S3Dfa.NONE);                    // DEAD
+    int start = newState(S3Dfa.NONE);        // START
+
+    int id = S3Dfa.DEAD;
+    if (identifierKind != S3Dfa.NONE)
+    {
+      id = newState(identifierKind);
+      fallBackToId(id, id);
+      for (int s = 0; s < NUM_SYMBOLS; s++)
+        if (isLetter(s))
+          set(start, s, id);
+    }
+
+    if (numberKind != S3Dfa.NONE)
+    {
+      int num = newState(numberKind);
+      for (int s = 0; s < NUM_SYMBOLS; s++)
+        if (isDigit(s))
+        {
+          set(start, s, num);
+          set(num, s, num);
+        }
+    }
+
+    // Keywords form a trie hanging off START.  Any trie
+    // state falls back to the identifier state on
+    // a letter or digit that leaves the trie.
+    HashSet<Integer> trie = new HashSet<Integer>();
+    for (Map.Entry<String, Integer> e : keywords.entrySet())
+    {
+      String word = e.getKey();
+      int state = start;
+      for (int i = 0; i < word.length(); i++)
+      {
+        int next = get(state, word.charAt(i));
+        if (!trie.contains(next))
+        {
+          next = newState(identifierKind);
+          fallBackToId(next, id);
+          set(state, word.charAt(i), next);
+          trie.add(next);
+        }
+        state = next;
+      }
+      accept.set(state, e.getValue());
+    }
+
+    for (Map.Entry<Character, Integer> e :
+                                      operators.entrySet())
+      set(start, e.getKey(), newState(e.getValue()));
+
+    if (commentStart != null)
+    {
+      int state = start;
+      int last = commentStart.length() - 1;
+      for (int i = 0; i < last; i++)
+      {
+        int next = get(state, commentStart.charAt(i));
+        if (next == S3Dfa.DEAD)
+        {
+          next = newState(S3Dfa.NONE);
+          set(state, commentStart.charAt(i), next);
+        }
+        state = next;
+      }
+      int comment = newState(S3Dfa.COMMENT);
+      set(state, commentStart.charAt(last), comment);
+      for (int s = 0; s < NUM_SYMBOLS; s++)
+        if (s != '\n')
+          set(comment, s, comment);
+    }
+
+    if (stringKind != S3Dfa.NONE)
+    {
+      int open = newState(unterminatedKind);
+      noImage.set(open, true);
+      int closed = newState(stringKind);
+      set(start, '"', open);
+      for (int s = 0; s < NUM_SYMBOLS; s++)
+        if (s != '"' && s != '\n' && s != 0)
+          set(open, s, open);
+      set(open, '"', closed);
+    }
+
+    // whitespace up to the end of the line is skipped
+    int space = newState(S3Dfa.SKIP);
+    for (int s = 0; s < NUM_SYMBOLS; s++)
+      if (isSpace(s) && s != '\n')
+      {
+        set(start, s, space);
+        set(space, s, space);
+      }
+
+    if (errorKind != S3Dfa.NONE)
+    {
+      int error = newState(errorKind);
+      for (int s = 0; s < NUM_SYMBOLS; s++)
+        if (s != '\n' && s != 0 &&
+            get(start, s) == S3Dfa.DEAD)
+          set(start, s, error);
+    }
+
+    return compress();
+  }
+  //-----------------------------------------
+  // Merge symbols with identical columns into classes
+  // and build the final tables.
+  //
+  private S3Dfa compress()
+  {
+    int numStates = trans.size();
+    int[] symbolClass = new int[NUM_SYMBOLS];
+    HashMap<String, Integer> columns =
+                               new HashMap<String, Integer>();
+    for (int s = 0; s < NUM_SYMBOLS; s++)
+    {
+      int[] column = new int[numStates];
+      for (int state = 0; state < numStates; state++)
+        column[state] = trans.get(state)[s];
+      String key = Arrays.toString(column);
+      Integer c = columns.get(key);
+      if (c == null)
+      {
+        c = columns.size();
+        columns.put(key, c);
+      }
+      symbolClass[s] = c;
+    }
+
+    int numClasses = columns.size();
+    int[] table = new int[numStates * numClasses];
+    int[] acceptTable = new int[numStates];
+    boolean[] noImageTable = new boolean[numStates];
+    for (int state = 0; state < numStates; state++)
+    {
+      for (int s = 0; s < NUM_SYMBOLS; s++)
+        table[state * numClasses + symbolClass[s]] =
+                             trans.get(state)[s] * numClasses;
+      acceptTable[state] = accept.get(state);
+      noImageTable[state] = noImage.get(state);
+    }
+    return new S3Dfa(table, symbolClass, acceptTable,
+                     noImageTable, errorKind);
+  }
+  //-----------------------------------------
+  private int newState(int kind)
+  {
+    trans.add(new int[NUM_SYMBOLS]);
+    accept.add(kind);
+    noImage.add(false);
+    return trans.size() - 1;
+  }
+  //-----------------------------------------
+  private void fallBackToId(int state, int id)
+  {
+    for (int s = 0; s < NUM_SYMBOLS; s++)
+      if (isLetterOrDigit(s))
+        set(state, s, id);
+  }
+  //-----------------------------------------
+  private int get(int state, int symbol)
+  {
+    return trans.get(state)[symbol];
+  }
+  //-----------------------------------------
+  private void set(int state, int symbol, int next)
+  {
+    trans.get(state)[symbol] = next;
+  }
+  //-----------------------------------------
+  private static boolean isSpace(int s)
+  {
+    return s == SPACE ||
+           s < 128 && Character.isWhitespace((char)s);
+  }
+  //-----------------------------------------
+  private static boolean isDigit(int s)
+  {
+    return s == DIGIT ||
+           s < 128 && Character.isDigit((char)s);
+  }
+  //-----------------------------------------
+  private static boolean isLetter(int s)
+  {
+    return s == LETTER ||
+           s < 128 && Character.isLetter((char)s);
+  }
+  //-----------------------------------------
+  private static boolean isLetterOrDigit(int s)
+  {
+    return isLetter(s) || isDigit(s);
+  }
+}                                // end of S3DfaGenerator
+//======================================================
+class S3TokenMgr implements S3Constants
+{
+  private S3SourceReader inFile;
+  private PrintWriter outFile;
+  private boolean debug;
+  private char currentChar;
+  private int currentColumnNumber;
+  private int currentLineNumber;
+  private char[] inputLine;    // holds 1 line of input
+  private boolean inString;
+  private boolean endOfFile;   // all lines have been read
+  private S3Dfa dfa;           // null for hand-coded scan
+
+  // tokens lexed ahead of time (null if not used)
+  private S3TokenFeed feed;
+  private S3TokenBuffer batch;
+  private int batchIndex;
+
+  // the token most recently scanned
+  private int kind;
+  private int beginLine;
+  private int beginColumn;
+  private int endLine;
+  private int endColumn;
+  private char[] buffer;       // token image built here
+  private int bufferLength;    // -1 if image is null
+  //-----------------------------------------
+  public S3TokenMgr(S3SourceReader inFile,
+                    PrintWriter outFile, boolean debug)
+  {
+    this.inFile = inFile;
+    this.outFile = outFile;
+    this.debug = debug;
+    currentChar = '\n';        //  '\n' triggers read
+    currentLineNumber = 0;
+    inputLine = new char[] {'\n'};
+    buffer = new char[64];
+  }
+  //-----------------------------------------
+  // Start over at the first line of inFile, which has
+  // been reset to a new source.  Any feed is dropped.
+  //
+  public void reset()
+  {
+    currentChar = '\n';
+    currentColumnNumber = 0;
+    currentLineNumber = 0;
+    inputLine = new char[] {'\n'};
+    inString = false;
+    endOfFile = false;
+    feed = null;
+    batch = null;
+    batchIndex = 0;
+  }
+  //-----------------------------------------
+  // Token spec for S3, to be passed to setDfa().
+  //
+  public static S3Dfa makeDfa()
+  {
+    S3DfaGenerator g = new S3DfaGenerator();
+    g.identifier(ID);
+    g.keyword("println", PRINTLN);
+    g.keyword("print", PRINT);
+    g.keyword("readint", READINT);
+    g.number(UNSIGNED);
+    g.string(STRING, ERROR);
+    g.operator('=', ASSIGN);
+    g.operator(';', SEMICOLON);
+    g.operator('(', LEFTPAREN);
+    g.operator(')', RIGHTPAREN);
+    g.operator('+', PLUS);
+    g.operator('-', MINUS);
+    g.operator('*', TIMES);
+    g.operator('/', DIVIDE);
+    g.operator('{', LEFTCURLYBRACE);
+    g.operator('}', RIGHTCURLYBRACE);
+    g.lineComment("//");
+    g.error(ERROR);
+    return g.generate();
+  }
+  //-----------------------------------------
+  // Scan with the tables in dfa instead of the
+  // hand-coded scanner.  Must be called before the
+  // first token is requested.
+  //
+  public void setDfa(S3Dfa dfa)
+  {
+    this.dfa = dfa;
+  }
+  //-----------------------------------------
+  // Take tokens from feed instead of scanning them.
+  // inFile is then only used to echo source lines.
+  // Must be called before the first token is requested.
+  //
+  public void setFeed(S3TokenFeed feed)
+  {
+    this.feed = feed;
+  }
+  //-----------------------------------------
+  // True if the token manager stopped at the end of its
+  // input, rather than at a NUL char.
+  //
+  public boolean isEndOfFile()
+  {
+    return endOfFile;
+  }
+  //-----------------------------------------
+  // Scan the next token and append it to tokens.
+  //
+  public void getNextToken(S3TokenBuffer tokens)
+  {
+    scanToken();
+    tokens.add(kind, beginLine, beginColumn, endLine,
+               endColumn, buffer, bufferLength);
+  }
+  //-----------------------------------------
+  private void scanToken()
+  {
+    if (feed != null)
+      takeFromFeed();
+    else if (dfa != null)
+      scanTokenDfa();
+    else
+      scanTokenByHand();
+
+    // token trace appears as comments in output file
+    if (debug)
+      traceToken();
+  }
+  //-----------------------------------------
+  // Same as printf of
+  // "; kd=%3d bL=%3d bC=%3d eL=%3d eC=%3d im=%s%n",
+  // without building a Formatter for every token.
+  //
+  private void traceToken()
+  {
+    traceNumber("; kd=", kind);
+    traceNumber(" bL=", beginLine);
+    traceNumber(" bC=", beginColumn);
+    traceNumber(" eL=", endLine);
+    traceNumber(" eC=", endColumn);
+    outFile.write(" im=");
+    if (kind == EOF)
+      outFile.write("<EOF>");
+    else if (bufferLength < 0)
+      outFile.write("null");
+    else
+      outFile.write(buffer, 0, bufferLength);
+    outFile.println();
+  }
+  //-----------------------------------------
+  private void traceNumber(String label, int n)
+  {
+    String digits = Integer.toString(n);
+    outFile.write(label);
+    for (int i = digits.length(); i < 3; i++)
+      outFile.write(' ');
+    outFile.write(digits);
+  }
+  //-----------------------------------------
+  private void scanTokenByHand()
+  {
+    // skip whitespace
+    while (Character.isWhitespace(currentChar))
+      getNextChar();
+
+    // save start-of-token position
+    beginLine = currentLineNumber;
+    beginColumn = currentColumnNumber;
+    bufferLength = 0;  // clear buffer
+
+    // check for EOF
+    if (currentChar == EOF)
+    {
+      endLine = currentLineNumber;
+      endColumn = currentColumnNumber;
+      kind = EOF;
+    }
+
+    else  // check for unsigned int
+    if (Character.isDigit(currentChar))
+    {
+      do  // build token image in buffer
+      {
+        append(currentChar);
+        endLine = currentLineNumber;
+        endColumn = currentColumnNumber;
+        getNextChar();
+      } while (Character.isDigit(currentChar));
+      kind = UNSIGNED;
+    }
+
+    else  // check for identifier
+    if (Character.isLetter(currentChar))
+    {
+      do  // build token image in buffer
+      {
+        append(currentChar);
+        endLine = currentLineNumber;
+        endColumn = currentColumnNumber;
+        getNextChar();
+      } while (Character.isLetterOrDigit(currentChar));
+
+      // check if keyword
+      kind = identifierKind();
+    }
+    else //check for String
+    if (currentChar == '"')
+    {
+      inString = true;
+      do  // build token image in buffer
+      {
+          append(currentChar);
+          endLine = currentLineNumber;
+          endColumn = currentColumnNumber;
+          getNextChar();
+      } while (currentChar != '"' && currentChar != '\n');
+      // append ending quote
+      if (currentChar == '"') {
+        append(currentChar);
+        endLine = currentLineNumber;
+        endColumn = currentColumnNumber;
+        kind = STRING;
+      }
+      else
+      {
+        kind = ERROR;
+        bufferLength = -1;  // unterminated string has no image
+      }
+      inString = false;
+      getNextChar();
+    }
+    else  // process single-character token
+    {
+      switch(currentChar)
+      {
+        case '=':
+          kind = ASSIGN;
+          break;
+        case ';':
+          kind = SEMICOLON;
+          break;
+        case '(':
+          kind = LEFTPAREN;
+          break;
+        case ')':
+          kind = RIGHTPAREN;
+          break;
+        case '+':
+          kind = PLUS;
+          break;
+        case '-':
+          kind = MINUS;
+          break;
+        case '*':
+          kind = TIMES;
+          break;
+        case '/':
+          kind = DIVIDE;
+          break;
+        case '{':
+          kind = LEFTCURLYBRACE;
+          break;
+        case '}':
+          kind = RIGHTCURLYBRACE;
+          break;
+        default:
+          kind = ERROR;
+          break;
+      }
+
+      // save currentChar as the token image
+      append(currentChar);
+
+      // save end-of-token position
+      endLine = currentLineNumber;
+      endColumn = currentColumnNumber;
+
+      getNextChar();  // read beyond end of token
+    }
+  }
+  //-----------------------------------------
+  // Scan the next token with one loop over the DFA
+  // tables.  currentColumnNumber is the index of the
+  // next char in inputLine.  Since no token spans a
+  // line, the '\n' that marks the end of inputLine
+  // always stops the DFA.  As in scanTokenByHand(), a
+  // NUL char is taken as end of file.
+  //
+  private void scanTokenDfa()
+  {
+    int[] trans = dfa.trans;
+    int[] accept = dfa.accept;
+    int[] asciiClass = dfa.asciiClass;
+    int numClasses = dfa.numClasses;
+    char[] line = inputLine;
+    int pos = currentColumnNumber;
+    int end;
+    int acceptState;
+
+    while (true)
+    {
+      if (currentChar == EOF)
+      {
+        kind = EOF;
+        beginLine = endLine = currentLineNumber;
+        beginColumn = endColumn =
+                      currentLineNumber == 0 ? 0 : pos + 1;
+        bufferLength = 0;
+        currentColumnNumber = pos;
+        return;
+      }
+
+      char c = line[pos];
+      if (c == '\n')                 // need next line?
+      {
+        if (nextLine())
+        {
+          line = inputLine;
+          pos = 0;
+        }
+        else
+          currentChar = EOF;
+        continue;
+      }
+      if (c == EOF)
+      {
+        currentChar = EOF;
+        continue;
+      }
+
+      // run the DFA as far as it goes
+      int row = S3Dfa.START * numClasses;
+      int p = pos;
+      int next;
+      while ((next = trans[row +
+                      ((c = line[p]) < 128 ? asciiClass[c]
+                                   : dfa.classOf(c))]) != 0)
+      {
+        row = next;
+        p++;
+      }
+      acceptState = row / numClasses;
+      end = p;
+
+      // if stopped in a state that accepts nothing, back
+      // up to the last accepting state, if any
+      if (accept[acceptState] == S3Dfa.NONE)
+      {
+        row = S3Dfa.START * numClasses;
+        acceptState = S3Dfa.DEAD;
+        for (p = pos; p < end; p++)
+        {
+          row = trans[row + dfa.classOf(line[p])];
+          if (accept[row / numClasses] != S3Dfa.NONE)
+          {
+            acceptState = row / numClasses;
+            end = p + 1;
+          }
+        }
+      }
+
+      if (acceptState == S3Dfa.DEAD)
+        break;
+      else if (accept[acceptState] == S3Dfa.SKIP)
+        pos = end;
+      else if (accept[acceptState] == S3Dfa.COMMENT)
+      {
+        // Treat the comment as the end of the line, as
+        // scanTokenByHand() does, so that an EOF token
+        // after it gets the same column number.
+        if (nextLine())
+        {
+          line = inputLine;
+          pos = 0;
+        }
+        else
+          currentChar = EOF;
+      }
+      else
+        break;
+    }
+
+    // token is line[pos..end)
+    if (acceptState == S3Dfa.DEAD)
+    {
+      kind = dfa.errorKind;
+      end = pos + 1;
+    }
+    else
+      kind = accept[acceptState];
+    beginLine = endLine = currentLineNumber;
+    beginColumn = pos + 1;
+    endColumn = end;
+    bufferLength = end - pos;
+    if (bufferLength > buffer.length)
+      buffer = new char[2 * bufferLength];
+    System.arraycopy(line, pos, buffer, 0, bufferLength);
+    currentColumnNumber = end;
+
+    // Like scanTokenByHand(), read past the end of the
+    // line that ends an unterminated string.
+    if (acceptState != S3Dfa.DEAD && dfa.noImage[acceptState])
+    {
+      bufferLength = -1;
+      if (!nextLine())
+        currentChar = EOF;
+    }
+  }
+  //-----------------------------------------
+  private void append(char c)
+  {
+    if (bufferLength == buffer.length)
+      buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+    buffer[bufferLength++] = c;
+  }
+  //-----------------------------------------
+  // Return the kind of the identifier in buffer.  The
+  // length and first char pick the one keyword, if any,
+  // that it can be, so at most one keyword is compared.
+  //
+  private int identifierKind()
+  {
+    switch (bufferLength)
+    {
+      case 5:
+        if (buffer[0] == 'p' && imageEquals("print"))
+          return PRINT;
+        break;
+      case 7:
+        if (buffer[0] == 'p' && imageEquals("println"))
+          return PRINTLN;
+        if (buffer[0] == 'r' && imageEquals("readint"))
+          return READINT;
+        break;
+    }
+    return ID;  // not a keyword so kind is ID
+  }
+  //-----------------------------------------
+  private boolean imageEquals(String s)
+  {
+    for (int i = 1; i < bufferLength; i++)
+      if (buffer[i] != s.charAt(i))
+        return false;
+    return true;
+  }
+  //-----------------------------------------
+  private void getNextChar()
+  {
+    if (currentChar == EOF)
+      return;
+
+    if (currentChar == '\n')        // need next line?
+    {
+      if (!nextLine())              // any lines left?
+      {
+         currentChar = EOF;
+         return;
+      }
+    }
+
+    // get next char from inputLine
+    currentChar = inputLine[currentColumnNumber++];
+
+    // in S3, test for single-line comment goes here
+    if (currentChar == '/' && inputLine[currentColumnNumber]
+                    == '/' && !inString)
+        currentChar = '\n';
+  }
+  //-----------------------------------------
+  // Read the next line into inputLine and echo it to
+  // the output file.  Return false at end of file.
+  //
+  private boolean nextLine()
+  {
+    int length;
+    try
+    {
+      length = inFile.nextLine();
+    }
+    catch (IOException e)
+    {
+      throw new UncheckedIOException(e);
+    }
+    if (length < 0)
+    {
+      endOfFile = true;
+      return false;
+    }
+
+    inputLine = inFile.getLine();
+    // output source line as comment
+    outFile.print("; ");
+    outFile.write(inputLine, 0, length);
+    outFile.println();
+    inputLine[length] = '\n';         // mark line end
+    currentColumnNumber = 0;
+    currentLineNumber++;
+    return true;
+  }
+  //-----------------------------------------
+  // Take the next token from feed.  Source lines are
+  // echoed when a scanner would have read them:  all
+  // lines up to the one the token starts on, and for an
+  // unterminated string also the line after it.  Once
+  // the feed runs dry, its final EOF token is repeated.
+  //
+  private void takeFromFeed()
+  {
+    while (batch == null || batchIndex == batch.getEnd())
+    {
+      S3TokenBuffer next = feed.nextBatch();
+      if (next == null)
+      {
+        batchIndex--;
+        break;
+      }
+      batch = next;
+      batchIndex = 0;
+    }
+
+    int i = batchIndex++;
+    kind = batch.getKind(i);
+    beginLine = batch.getBeginLine(i);
+    beginColumn = batch.getBeginColumn(i);
+    endLine = batch.getEndLine(i);
+    endColumn = batch.getEndColumn(i);
+    if (batch.getImageLength(i) > buffer.length)
+      buffer = new char[2 * batch.getImageLength(i)];
+    bufferLength = batch.copyImage(i, buffer);
+
+    int echoThrough = beginLine;
+    if (kind == ERROR && bufferLength < 0)
+      echoThrough++;
+    while (currentLineNumber < echoThrough && nextLine())
+      ;
+  }
+}                                   // end of S3TokenMgr
+//======================================================
+// Source of tokens lexed ahead of S3TokenMgr, handed
+// over a batch at a time.  nextBatch() returns null
+// when there are no more batches; the last batch ends
+// with an EOF token.
+//
+interface S3TokenFeed
+{
+  S3TokenBuffer nextBatch();
+
+  // Stop lexing batches that will not be asked for.
+  void cancel();
+}                                  // end of S3TokenFeed
+//======================================================
+// Lexes a source held in a ByteBuffer in parallel.
+// Neither strings nor comments span lines in S3, so
+// the scanner starts afresh at every line end.  The
+// source is therefore split into chunks that end at a
+// '\n', and each chunk is lexed by its own S3TokenMgr
+// on a ForkJoinPool.  Chunks are handed out in order by
+// nextBatch(), which shifts each chunk's line numbers by
+// the number of lines before it and drops the EOF token
+// at the end of each chunk but the last.
+//
+class S3ParallelLexer implements S3TokenFeed, S3Constants
+{
+  static final int CHUNK_SIZE = 1 << 20;
+
+  private ArrayList<ForkJoinTask<S3TokenBuffer>> chunks;
+  private boolean[] stoppedEarly;   // chunk had a NUL
+  private int nextChunk;
+  private int lineBase;             // lines before it
+  //-----------------------------------------
+  public S3ParallelLexer(ByteBuffer source, S3Dfa dfa,
+                         ForkJoinPool pool)
+  {
+    this(source, dfa, pool, CHUNK_SIZE);
+  }
+  //-----------------------------------------
+  public S3ParallelLexer(ByteBuffer source, S3Dfa dfa,
+                         ForkJoinPool pool, int chunkSize)
+  {
+    // find chunk boundaries; always at least one chunk
+    ArrayList<ByteBuffer> slices = new ArrayList<ByteBuffer>();
+    int start = source.position();
+    int limit = source.limit();
+    do
+    {
+      int end = Math.min(start + chunkSize, limit);
+      while (end < limit && source.get(end - 1) != '\n')
+        end++;
+      slices.add(source.slice(start, end - start));
+      start = end;
+    } while (start < limit);
+
+    chunks = new ArrayList<ForkJoinTask<S3TokenBuffer>>();
+    stoppedEarly = new boolean[slices.size()];
+    for (int k = 0; k < slices.size(); k++)
+    {
+      ByteBuffer slice = slices.get(k);
+      int chunk = k;
+      chunks.add(pool.submit(
+                      () -> lexChunk(slice, dfa, chunk)));
+    }
+  }
+  //-----------------------------------------
+  private S3TokenBuffer lexChunk(ByteBuffer slice,
+                                 S3Dfa dfa, int chunk)
+  {
+    PrintWriter noEcho = new PrintWriter(Writer.nullWriter());
+    S3TokenMgr tm = new S3TokenMgr(new S3MappedReader(slice),
+                                   noEcho, false);
+    if (dfa != null)
+      tm.setDfa(dfa);
+
+    S3TokenBuffer tokens =
+                   new S3TokenBuffer(slice.limit() / 4 + 16);
+    do
+      tm.getNextToken(tokens);
+    while (tokens.getKind(tokens.getEnd() - 1) != EOF);
+    stoppedEarly[chunk] = !tm.isEndOfFile();
+    return tokens;
+  }
+  //-----------------------------------------
+  public S3TokenBuffer nextBatch()
+  {
+    if (nextChunk == chunks.size())
+      return null;
+
+    int chunk = nextChunk++;
+    S3TokenBuffer tokens = chunks.get(chunk).join();
+
+    // A NUL char ends the input, so later chunks are
+    // never used.  Otherwise the EOF token of all but the
+    // last chunk is dropped; its line is the number of
+    // lines in the chunk.
+    int eof = tokens.getEnd() - 1;
+    int lines = tokens.getBeginLine(eof);
+    tokens.setLineBase(lineBase);
+    if (stoppedEarly[chunk])
+    {
+      for (int k = nextChunk; k < chunks.size(); k++)
+        chunks.get(k).cancel(false);
+      nextChunk = chunks.size();
+    }
+    else if (nextChunk < chunks.size())
+      tokens.removeLast();
+    lineBase += lines;
+    return tokens;
+  }
+  //-----------------------------------------
+  public void cancel()
+  {
+    for (int k = nextChunk; k < chunks.size(); k++)
+      chunks.get(k).cancel(false);
+    nextChunk = chunks.size();
+  }
+}                                // end of S3ParallelLexer
+//======================================================
+// Lexes on a thread of its own, so the compiler's main
+// thread only parses and generates code.  The thread
+// runs an S3TokenMgr over its own reader of the source
+// and hands tokens over in batches of BATCH_SIZE
+// through an S3Ring.  Line numbers need no shifting,
+// since one token manager reads the whole source.
+//
+class S3PipelineLexer implements S3TokenFeed, S3Constants
+{
+  static final int BATCH_SIZE = 4096;
+  private static final int RING_SIZE = 8;
+
+  // put in the ring after the last batch
+  private static final S3TokenBuffer END =
+                                       new S3TokenBuffer();
+
+  private S3Ring<S3TokenBuffer> ring;
+  private volatile Throwable failure;  // of the thread
+  private boolean ended;
+  //-----------------------------------------
+  public S3PipelineLexer(S3SourceReader inFile, S3Dfa dfa)
+  {
+    ring = new S3Ring<S3TokenBuffer>(RING_SIZE);
+    Thread lexer = new Thread(() -> lex(inFile, dfa),
+                              "S3 lexer");
+    lexer.setDaemon(true);
+    lexer.start();
+  }
+  //-----------------------------------------
+  private void lex(S3SourceReader inFile, S3Dfa dfa)
+  {
+    try
+    {
+      PrintWriter noEcho =
+                   new PrintWriter(Writer.nullWriter());
+      S3TokenMgr tm = new S3TokenMgr(inFile, noEcho, false);
+      if (dfa != null)
+        tm.setDfa(dfa);
+
+      boolean atEof;
+      do
+      {
+        S3TokenBuffer tokens =
+                       new S3TokenBuffer(BATCH_SIZE + 16);
+        do
+        {
+          tm.getNextToken(tokens);
+          atEof = tokens.getKind(tokens.getEnd() - 1) == EOF;
+        } while (!atEof && tokens.getEnd() < BATCH_SIZE);
+        if (!ring.put(tokens))
+          return;                          // cancelled
+      } while (!atEof);
+    }
+    catch (Throwable e)
+    {
+      failure = e;
+    }
+    finally
+    {
+      inFile.close();
+    }
+    ring.put(END);
+  }
+  //-----------------------------------------
+  public S3TokenBuffer nextBatch()
+  {
+    if (ended)
+      return null;
+
+    S3TokenBuffer tokens = ring.take();
+    if (tokens != END)
+      return tokens;
+    ended = true;
+    if (failure instanceof RuntimeException)
+      throw (RuntimeException)failure;
+    if (failure != null)
+      throw new RuntimeException(failure);
+    return null;
+  }
+  //-----------------------------------------
+  // After a parse error no one takes batches, so the
+  // lexer thread would wait in put() for ever.
+  //
+  public void cancel()
+  {
+    ended = true;
+    ring.cancel();
+  }
+}                                 // end of S3PipelineLexer
+//======================================================
+// Bounded ring that hands items from one producer
+// thread to one consumer thread.  head is written only
+// by the consumer and tail only by the producer, so no
+// locks are needed; both are volatile, so an item put
+// in its slot before tail moves past it is seen by the
+// consumer.  A side that must wait spins briefly, then
+// yields.  Once the consumer calls cancel(), put()
+// returns false instead of waiting for room.
+//
+class S3Ring<T>
+{
+  private static final int SPINS = 100;
+
+  private Object[] items;
+  private int mask;
+  private volatile long head;  // next item to take
+  private volatile long tail;  // next slot to fill
+  private volatile boolean cancelled;
+  //-----------------------------------------
+  // capacity is a power of 2.
+  //
+  public S3Ring(int capacity)
+  {
+    items = new Object[capacity];
+    mask = capacity - 1;
+  }
+  //-----------------------------------------
+  public boolean put(T item)
+  {
+    long t = tail;
+    for (int spins = 0; t - head == items.length; spins++)
+    {
+      if (cancelled)
+        return false;
+      pause(spins);
+    }
+    items[(int)t & mask] = item;
+    tail = t + 1;
+    return true;
+  }
+  //-----------------------------------------
+  public void cancel()
+  {
+    cancelled = true;
+  }
+  //-----------------------------------------
+  @SuppressWarnings("unchecked")
+  public T take()
+  {
+    long h = head;
+    for (int spins = 0; h == tail; spins++)
+      pause(spins);
+    T item = (T)items[(int)h & mask];
+    items[(int)h & mask] = null;
+    head = h + 1;
+    return item;
+  }
+  //-----------------------------------------
+  private static void pause(int spins)
+  {
+    if (spins < SPINS)
+      Thread.onSpinWait();
+    else
+      Thread.yield();
+  }
+}                                          // end of S3Ring
+//======================================================
+// Packed token stream.  Token i is described by slot
+// i & mask of a set of parallel int arrays used as a
+// ring, and the chars of all token images are kept in
+// one char array, also used as a ring (textBegin holds
+// where each image starts; an image never wraps).
+// Tokens before the one passed to release() are dead,
+// so their slots and chars are reused by later tokens
+// and a parser that releases as it goes needs no more
+// than a small fixed buffer.  Peeking ahead or back and
+// advancing are O(1).  Image Strings are built only
+// when getImage() is called, and only ID, UNSIGNED, and
+// STRING tokens ever need a new String; ID images come
+// from a name pool, so each distinct name is built only
+// once.
+//
+class S3TokenBuffer implements S3Constants
+{
+  // shared image Strings for single-character tokens
+  private static final String[] charImage =
+                                          new String[128];
+  static
+  {
+    for (int c = 0; c < charImage.length; c++)
+      charImage[c] = String.valueOf((char)c);
+  }
+
+  // sizes of all arrays are powers of 2
+  private int[] kind;
+  private int[] beginLine;
+  private int[] beginColumn;
+  private int[] endLine;
+  private int[] endColumn;
+  private int[] textBegin;
+  private int[] imageLength;   // -1 if image is null
+  private char[] text;
+  private int mask;            // kind.length - 1
+  private int textMask;        // text.length - 1
+  private int end;             // index one past last token
+  private int textEnd;         // where next image goes
+  private int released;        // tokens before it are dead
+  private int lineBase;        // added to line numbers
+  private S3NamePool names;    // created on first use
+  private static final int MAX_POOLED_NAMES = 4096;
+  //-----------------------------------------
+  public S3TokenBuffer()
+  {
+    this(64);
+  }
+  //-----------------------------------------
+  public S3TokenBuffer(int capacity)
+  {
+    capacity = powerOf2(capacity);
+    kind = new int[capacity];
+    beginLine = new int[capacity];
+    beginColumn = new int[capacity];
+    endLine = new int[capacity];
+    endColumn = new int[capacity];
+    textBegin = new int[capacity];
+    imageLength = new int[capacity];
+    text = new char[8 * capacity];
+    mask = capacity - 1;
+    textMask = text.length - 1;
+  }
+  //-----------------------------------------
+  // Smallest power of 2 that is at least n (and 2).
+  //
+  private static int powerOf2(int n)
+  {
+    return n <= 2 ? 2 : Integer.highestOneBit(n - 1) << 1;
+  }
+  //-----------------------------------------
+  // Append a token and return its index.  A negative
+  // length means the token's image is null.
+  //
+  public int add(int kind, int beginLine, int beginColumn,
+                 int endLine, int endColumn,
+                 char[] image, int length)
+  {
+    int textNeeded = Math.max(length, 0);
+    if (end - released == this.kind.length ||
+        !textFits(textNeeded))
+      grow(textNeeded);
+
+    // start the image over at 0 rather than wrap it
+    int offset = textEnd & textMask;
+    if (offset + textNeeded > text.length)
+    {
+      textEnd += text.length - offset;
+      offset = 0;
+    }
+
+    int slot = end & mask;
+    this.kind[slot] = kind;
+    this.beginLine[slot] = beginLine;
+    this.beginColumn[slot] = beginColumn;
+    this.endLine[slot] = endLine;
+    this.endColumn[slot] = endColumn;
+    textBegin[slot] = textEnd;
+    imageLength[slot] = length < 0 ? -1 : length;
+    if (length > 0)
+      System.arraycopy(image, 0, text, offset, length);
+    textEnd += textNeeded;
+    return end++;
+  }
+  //-----------------------------------------
+  // True if an image of n chars can be added without
+  // writing over the chars of a token not yet released.
+  //
+  private boolean textFits(int n)
+  {
+    int offset = textEnd & textMask;
+    int skip = offset + n > text.length ?
+                                 text.length - offset : 0;
+    return textEnd + skip + n - liveTextBegin() <=
+                                              text.length;
+  }
+  //-----------------------------------------
+  private int liveTextBegin()
+  {
+    return released < end ? textBegin[released & mask]
+                          : textEnd;
+  }
+  //-----------------------------------------
+  // Make larger arrays and copy the tokens not yet
+  // released into them, packing their images from
+  // offset 0.
+  //
+  private void grow(int textNeeded)
+  {
+    int live = end - released;
+    int packed = 0;
+    for (int i = released; i < end; i++)
+      packed += Math.max(imageLength[i & mask], 0);
+
+    int capacity = live < kind.length ? kind.length
+                                      : 2 * kind.length;
+    int textCapacity = Math.max(text.length,
+                 powerOf2(2 * (packed + textNeeded)));
+
+    int[] newKind = new int[capacity];
+    int[] newBeginLine = new int[capacity];
+    int[] newBeginColumn = new int[capacity];
+    int[] newEndLine = new int[capacity];
+    int[] newEndColumn = new int[capacity];
+    int[] newTextBegin = new int[capacity];
+    int[] newImageLength = new int[capacity];
+    char[] newText = new char[textCapacity];
+    int newMask = capacity - 1;
+    int newTextEnd = 0;
+    for (int i = released; i < end; i++)
+    {
+      int from = i & mask;
+      int to = i & newMask;
+      newKind[to] = kind[from];
+      newBeginLine[to] = beginLine[from];
+      newBeginColumn[to] = beginColumn[from];
+      newEndLine[to] = endLine[from];
+      newEndColumn[to] = endColumn[from];
+      newImageLength[to] = imageLength[from];
+      newTextBegin[to] = newTextEnd;
+      if (imageLength[from] > 0)
+      {
+        System.arraycopy(text, textBegin[from] & textMask,
+                         newText, newTextEnd,
+                         imageLength[from]);
+        newTextEnd += imageLength[from];
+      }
+    }
+
+    kind = newKind;
+    beginLine = newBeginLine;
+    beginColumn = newBeginColumn;
+    endLine = newEndLine;
+    endColumn = newEndColumn;
+    textBegin = newTextBegin;
+    imageLength = newImageLength;
+    text = newText;
+    mask = newMask;
+    textMask = textCapacity - 1;
+    textEnd = newTextEnd;
+  }
+  //-----------------------------------------
+  public void removeLast()
+  {
+    end--;
+    textEnd = textBegin[end & mask];
+  }
+  //-----------------------------------------
+  // Remove all tokens, keeping the arrays and, unless it
+  // has grown large, the name pool for reuse.
+  //
+  public void clear()
+  {
+    end = 0;
+    textEnd = 0;
+    released = 0;
+    lineBase = 0;
+    if (names != null && names.size() > MAX_POOLED_NAMES)
+      names = null;
+  }
+  //-----------------------------------------
+  // Line numbers of all tokens are shifted by lineBase.
+  //
+  public void setLineBase(int lineBase)
+  {
+    this.lineBase = lineBase;
+  }
+  //-----------------------------------------
+  // Tokens before index i are no longer needed.
+  //
+  public void release(int i)
+  {
+    if (i > released)
+      released = i;
+  }
+  //-----------------------------------------
+  // Return the index one past the last token.
+  //
+  public int getEnd()
+  {
+    return end;
+  }
+  //-----------------------------------------
+  public int getKind(int i)
+  {
+    return kind[i & mask];
+  }
+  //-----------------------------------------
+  public int getBeginLine(int i)
+  {
+    return beginLine[i & mask] + lineBase;
+  }
+  //-----------------------------------------
+  public int getBeginColumn(int i)
+  {
+    return beginColumn[i & mask];
+  }
+  //-----------------------------------------
+  public int getEndLine(int i)
+  {
+    return endLine[i & mask] + lineBase;
+  }
+  //-----------------------------------------
+  public int getEndColumn(int i)
+  {
+    return endColumn[i & mask];
+  }
+  //-----------------------------------------
+  // Length of the chars of the image of token i, or -1
+  // if its image is null.
+  //
+  public int getImageLength(int i)
+  {
+    return imageLength[i & mask];
+  }
+  //-----------------------------------------
+  // Copy the chars of the image of token i into dest
+  // and return their number, or -1 if its image is null.
+  //
+  public int copyImage(int i, char[] dest)
+  {
+    int length = getImageLength(i);
+    if (length > 0)
+      System.arraycopy(text, textBegin[i & mask] & textMask,
+                       dest, 0, length);
+    return length;
+  }
+  //-----------------------------------------
+  public String getImage(int i)
+  {
+    int slot = i & mask;
+    int length = imageLength[slot];
+    if (length < 0)
+      return null;
+
+    int offset = textBegin[slot] & textMask;
+    switch (kind[slot])
+    {
+      case EOF:
+        return "<EOF>";
+      case ID:
+        if (names == null)
+          names = new S3NamePool();
+        return names.intern(text, offset, length);
+      case UNSIGNED:
+      case STRING:
+        return new String(text, offset, length);
+      default:           // single-character token
+        char c = text[offset];
+        return c < charImage.length ? charImage[c]
+                                    : String.valueOf(c);
+    }
+  }
+}                                // end of S3TokenBuffer
+//======================================================
+// Pool of identifier images.  intern() returns the one
+// String in the pool with the given chars, adding it if
+// it is new, so a name used many times is built once
+// and all its tokens share one String instance.
+//
+class S3NamePool
+{
+  // open addressing, kept at most half full
+  private String[] table;
+  private int size;
+  //-----------------------------------------
+  public S3NamePool()
+  {
+    table = new String[64];
+  }
+  //-----------------------------------------
+  public int size()
+  {
+    return size;
+  }
+  //-----------------------------------------
+  public String intern(char[] chars, int offset, int length)
+  {
+    int h = 0;                // same hash as String
+    for (int i = 0; i < length; i++)
+      h = 31 * h + chars[offset + i];
+
+    int mask = table.length - 1;
+    int slot = (h ^ (h >>> 16)) & mask;
+    String s;
+    while ((s = table[slot]) != null)
+    {
+      if (s.length() == length && s.hashCode() == h &&
+          sameChars(s, chars, offset))
+        return s;
+      slot = (slot + 1) & mask;
+    }
+
+    s = new String(chars, offset, length);
+    table[slot] = s;
+    if (2 * ++size > table.length)
+      rehash();
+    return s;
+  }
+  //-----------------------------------------
+  private static boolean sameChars(String s, char[] chars,
+                                   int offset)
+  {
+    for (int i = 0; i < s.length(); i++)
+      if (s.charAt(i) != chars[offset + i])
+        return false;
+    return true;
+  }
+  //-----------------------------------------
+  private void rehash()
+  {
+    String[] old = table;
+    table = new String[2 * old.length];
+    int mask = table.length - 1;
+    for (String s : old)
+      if (s != null)
+      {
+        int h = s.hashCode();
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (table[slot] != null)
+          slot = (slot + 1) & mask;
+        table[slot] = s;
+      }
+  }
+}                                   // end of S3NamePool
+//======================================================
+class S3Parser implements S3Constants
+{
+  private S3SymTab st;
+  private S3TokenMgr tm;
+  private S3CodeGen cg;
+  private S3TokenBuffer tokens;  // tokens read so far
+  private int currentToken;      // index into tokens
+  private int previousToken;
+  //-----------------------------------------
+  public S3Parser(S3SymTab st, S3TokenMgr tm,
+                                           S3CodeGen cg)
+  {
+    this.st = st;
+    this.tm = tm;
+    this.cg = cg;
+    // prime currentToken with first token
+    tokens = new S3TokenBuffer();
+    tm.getNextToken(tokens);
+    currentToken = 0;
+    previousToken = -1;
+  }
+  //-----------------------------------------
+  // Start over on the token manager's new source,
+  // keeping the token buffer.
+  //
+  public void reset()
+  {
+    tokens.clear();
+    tm.getNextToken(tokens);
+    currentToken = 0;
+    previousToken = -1;
+  }
+  //-----------------------------------------
+  // Construct and return an exception that contains
+  // a message consisting of the image of the current
+  // token, its location, and the expected tokens.
+  //
+  private RuntimeException genEx(String errorMessage)
+  {
+    return new RuntimeException("Encountered \"" +
+      tokens.getImage(currentToken) + "\" on line " +
+      tokens.getBeginLine(currentToken) + ", column " +
+      tokens.getBeginColumn(currentToken) + "." +
+      System.getProperty("line.separator") +
+      errorMessage);
+  }
+  //-----------------------------------------
+  // Advance currentToken to next token.
+  //
+  private void advance()
+  {
+    previousToken = currentToken;
+    tokens.release(previousToken);
+    currentToken++;
+
+    // If next token is not in tokens yet, get it from
+    // token mgr.
+    if (currentToken == tokens.getEnd())
+      tm.getNextToken(tokens);
+  }
+  //-----------------------------------------
+  // getToken(i) returns index of ith token without
+  // advancing in token stream.  getToken(0) returns
+  // previousToken.  getToken(1) returns currentToken.
+  // getToken(2) returns next token, and so on.
+  //
+  private int getToken(int i)
+  {
+    if (i <= 0)
+      return previousToken;
+
+    int t = currentToken + i - 1;
+    while (t >= tokens.getEnd())  // read up to ith token
+      tm.getNextToken(tokens);
+    return t;
+  }
+  //-----------------------------------------
+  // If the kind of the current token matches the
+  // expected kind, then consume advances to the next
+  // token. Otherwise, it throws an exception.
+  //
+  private void consume(int expected)
+  {
+    if (tokens.getKind(currentToken) == expected)
+      advance();
+    else
+      throw genEx("Expecting " + tokenImage[expected]);
+  }
+  //-----------------------------------------
+  public void parse()
+  {
+    program();   // program is start symbol for grammar
+  }
+  //-----------------------------------------
+  private void program()
+  {
+    statementList();
+    cg.endCode();
+    if (tokens.getKind(currentToken) != EOF)  //garbage at end?
+      throw genEx("Expecting <EOF>");
+  }
+  //-----------------------------------------
+  // Loops over the statements rather than recursing
+  // once per statement, so the stack depth does not
+  // grow with program length.
+  //
+  private void statementList()
+  {
+    while (true)
+      switch(tokens.getKind(currentToken))
+      {
+        case ID:
+        case PRINTLN:
+        case PRINT:
+        case SEMICOLON:
+        case LEFTCURLYBRACE:
+        case READINT:
+          statement();
+          break;
+        case EOF:
+        case RIGHTCURLYBRACE:
+          return;
+        default:
+          throw genEx("Expecting statement or <EOF>");
+      }
+  }
+  //-----------------------------------------
+  private void statement()
+  {
+    cg.setLine(tokens.getBeginLine(currentToken));
+    switch(tokens.getKind(currentToken))
+    {
+      case ID:
+        assignmentStatement();
+        break;
+      case PRINTLN:
+        printlnStatement();
+        break;
+      case PRINT:
+        printStatement();
+        break;
+      case SEMICOLON:
+        nullStatement();
+        break;
+      case LEFTCURLYBRACE:
+        compoundStatement();
+        break;
+      case READINT:
+        readintStatement();
+        break;
+      default:
+        throw genEx("Expecting statement");
+    }
+  }
+  //-----------------------------------------
+  private void assignmentStatement()
+  {
+    int t;
+
+    t = currentToken;
+    consume(ID);
+    st.enter(tokens.getImage(t));
+    cg.emitInstruction(PC, tokens.getImage(t));
+    consume(ASSIGN);
+    assignmentTail();
+    cg.emitInstruction(STAV);
+  }
+  //-----------------------------------------
+  // Each ID = in a chain like a = b = c = expr; pushes
+  // its address here; the stores are emitted after expr,
+  // innermost first, one dupe rot stav per address.
+  //
+  private void assignmentTail()
+  {
+    int t;
+    int stores = 0;
+    while (tokens.getKind(getToken(1)) == ID &&
+           tokens.getKind(getToken(2)) == ASSIGN)
+    {
+      t = currentToken;
+      consume(ID);
+      st.enter(tokens.getImage(t));
+      cg.emitInstruction(PC, tokens.getImage(t));
+      consume(ASSIGN);
+      stores++;
+    }
+
+    cg.emitExpr(expr());
+    consume(SEMICOLON);
+    for (; stores > 0; stores--)
+    {
+      cg.emitInstruction(DUPE);
+      cg.emitInstruction(ROT);
+      cg.emitInstruction(STAV);
+    }
+  }
+  //------------------------------------------
+  private void printlnStatement()
+  {
+    consume(PRINTLN);
+    consume(LEFTPAREN);
+    if (tokens.getKind(currentToken) == RIGHTPAREN)
+      ;
+    else
+      printArg();
+    cg.emitInstruction(PC, "'\\n'");
+    cg.emitInstruction(AOUT);
+    consume(RIGHTPAREN);
+    consume(SEMICOLON);
+  }
+  //-----------------------------------------
+  private void printStatement()
+  {
+      consume(PRINT);
+      consume(LEFTPAREN);
+      printArg();
+      consume(RIGHTPAREN);
+      consume(SEMICOLON);
+  }
+  //-------------------------------------------
+  private void printArg()
+  {
+      int t;
+      switch (tokens.getKind(currentToken))
+      {
+        case LEFTPAREN:
+        case PLUS:
+        case MINUS:
+        case UNSIGNED:
+        case ID:
+          cg.emitExpr(expr());
+          cg.emitInstruction(DOUT);
+          break;
+        case STRING:
+          t = currentToken;
+          consume(STRING);
+          cg.emitSout(tokens.getImage(t));
+          break;
+        default:
+          throw genEx("Expecting String, or expression.");
+    }
+  }
+  //-------------------------------------------
+  private void nullStatement()
+  {
+      consume(SEMICOLON);
+  }
+  private S3Expr expr()
+  {
+    return termList(term());
+  }
+  //-----------------------------------------
+  private void compoundStatement()
+  {
+      consume(LEFTCURLYBRACE);
+      statementList();
+      consume(RIGHTCURLYBRACE);
+  }
+  //------------------------------------------
+  private void readintStatement()
+  {
+      int t;
+      consume(READINT);
+      consume(LEFTPAREN);
+      t = currentToken;
+      consume(ID);
+      st.enter(tokens.getImage(t));
+      cg.emitInstruction(PC, tokens.getImage(t));
+      cg.emitInstruction(DIN);
+      cg.emitInstruction(STAV);
+      consume(RIGHTPAREN);
+      consume(SEMICOLON);
+  }
+  //------------------------------------------
+  private S3Expr termList(S3Expr left)
+  {
+    while (true)
+      switch(tokens.getKind(currentToken))
+      {
+        case PLUS:
+          consume(PLUS);
+          left = cg.binary(ADD, left, term());
+          break;
+        case MINUS:
+          consume(MINUS);
+          left = cg.binary(SUB, left, term());
+          break;
+        case RIGHTPAREN:
+        case SEMICOLON:
+          return left;
+        default:
+          throw genEx("Expecting \"+\", \")\", or \";\"");
+      }
+  }
+  //-----------------------------------------
+  private S3Expr term()
+  {
+    return factorList(factor());
+  }
+  //-----------------------------------------
+  private S3Expr factorList(S3Expr left)
+  {
+    while (true)
+      switch(tokens.getKind(currentToken))
+      {
+        case TIMES:
+          consume(TIMES);
+          left = cg.binary(MULT, left, factor());
+          break;
+        case DIVIDE:
+          consume(DIVIDE);
+          left = cg.binary(DIV, left, factor());
+          break;
+        case PLUS:
+        case MINUS:
+        case RIGHTPAREN:
+        case SEMICOLON:
+          return left;
+        default:
+          throw genEx("Expecting op, \")\", or \";\"");
+      }
+  }
+  //-----------------------------------------
+  // Unary signs are consumed in a loop.  A "-" directly
+  // before an UNSIGNED, ID, or "(" is applied there; a
+  // "-+" leaves a neg pending, applied to the operand;
+  // "+" and "--" have no effect.
+  //
+  private S3Expr factor()
+  {
+    int t;
+    int negs = 0;    // pending negs
+    S3Expr e;
+
+    while (true)
+      switch(tokens.getKind(currentToken))
+      {
+        case UNSIGNED:
+          t = currentToken;
+          consume(UNSIGNED);
+          e = cg.constant(tokens.getImage(t));
+          return cg.negate(e, negs);
+        case PLUS:
+          consume(PLUS);
+          break;
+        case MINUS:
+          consume(MINUS);
+          switch (tokens.getKind(currentToken))
+          {
+            case UNSIGNED:
+              t = currentToken;
+              consume(UNSIGNED);
+              e = cg.constant("-" + tokens.getImage(t));
+              return cg.negate(e, negs);
+            case ID:
+              t = currentToken;
+              consume(ID);
+              st.enter(tokens.getImage(t));
+              e = cg.variable(tokens.getImage(t));
+              return cg.negate(e, negs + 1);
+            case LEFTPAREN:
+              consume(LEFTPAREN);
+              e = expr();
+              consume(RIGHTPAREN);
+              return cg.negate(e, negs + 1);
+            case PLUS:
+              consume(PLUS);
+              negs++;
+              break;
+            case MINUS:
+              consume(MINUS);
+              break;
+            default:
+              throw genEx("Expecting UNSIGNED, ID, \"(\", \"+\", or \"-\"");
+          }
+          break;
+        case ID:
+          t = currentToken;
+          consume(ID);
+          st.enter(tokens.getImage(t));
+          e = cg.variable(tokens.getImage(t));
+          return cg.negate(e, negs);
+        case LEFTPAREN:
+          consume(LEFTPAREN);
+          e = expr();
+          consume(RIGHTPAREN);
+          return cg.negate(e, negs);
+        default:
+          throw genEx("Expecting factor");
+      }
+  }
+}                                     // end of S3Parser
+//======================================================
+// Node of an expression tree, built by S3CodeGen when
+// optimizing.  kind is the opcode that computes the
+// node:  PWC for a constant, P for a variable, ADD,
+// SUB, MULT, or DIV for a binary operator, or NEG for a
+// neg applied to left.  Common subexpressions add two
+// kinds:  DUPE for left followed by a dupe, and STAV
+// for left stored in the temporary named image and
+// pushed again.
+//
+class S3Expr implements S3Constants
+{
+  // returned by wordValue() for a non-16-bit value
+  static final long NOT_WORD = Long.MIN_VALUE;
+
+  int kind;
+  String image;        // constant or variable
+  boolean known;       // value is a known 16-bit value
+  int value;
+  S3Expr left;
+  S3Expr right;
+  int number;          // value number, 0 if none yet
+  //-----------------------------------------
+  S3Expr(int kind, S3Expr left, S3Expr right)
+  {
+    this.kind = kind;
+    this.left = left;
+    this.right = right;
+  }
+  //-----------------------------------------
+  S3Expr(int kind, String image)
+  {
+    this.kind = kind;
+    this.image = image;
+  }
+  //-----------------------------------------
+  // Constant whose value is v.
+  //
+  S3Expr(int v)
+  {
+    this(PWC, Integer.toString(v));
+    known = true;
+    value = v;
+  }
+  //-----------------------------------------
+  static boolean fits(long v)
+  {
+    return v >= Short.MIN_VALUE && v <= Short.MAX_VALUE;
+  }
+  //-----------------------------------------
+  // Value of the pwc operand image, or NOT_WORD if it is
+  // not a 16-bit signed value.
+  //
+  static long wordValue(String image)
+  {
+    // image is at most 6 digits plus a sign if it fits
+    if (image.length() > 7)
+      return NOT_WORD;
+    long v = Long.parseLong(image);
+    return fits(v) ? v : NOT_WORD;
+  }
+}                                      // end of S3Expr
+//======================================================
+class S3CodeGen implements S3Constants
+{
+  private S3AsmWriter outFile;
+  private S3SymTab st;
+  private int labelNumber = 0;
+  private boolean optimizing;
+  private S3Code code;              // null if not optimizing
+  private HashMap<String, String> strings;  // labels
+  private ArrayList<S3Expr> spine;  // used by emitExpr
+
+  // value numbering of the expression being emitted;
+  // arrays are indexed by value number
+  private HashMap<Object, Integer> valueNumber;
+  private int[] count;              // times computed
+  private int[] size;               // instructions
+  private String[] temp;            // holding the value
+
+  private S3ObjectWriter objFile;   // null if none
+  private int line;                 // source line
+  //-----------------------------------------
+  public S3CodeGen(S3AsmWriter outFile, S3SymTab st)
+  {
+    this.outFile = outFile;
+    this.st = st;
+    spine = new ArrayList<S3Expr>();
+  }
+  //-----------------------------------------
+  // When optimizing, instructions are kept in an S3Code
+  // until endCode() runs the optimizer over them and
+  // writes them out, and the methods below that build
+  // an expression return a tree in which constant
+  // subtrees are folded into one constant, and
+  // emitExpr() emits its code.  Otherwise, instructions
+  // are written at once, and the expression methods
+  // emit code at once and return null.  A subtree is
+  // folded only if every value is a 16-bit signed value,
+  // so the folded code computes what the stack machine
+  // would have.
+  //
+  public void setOptimizing(boolean optimizing)
+  {
+    this.optimizing = optimizing;
+    code = optimizing ? new S3Code() : null;
+    strings = optimizing ? new HashMap<String, String>() : null;
+    valueNumber = new HashMap<Object, Integer>();
+  }
+  //-----------------------------------------
+  // Also write the code to objFile.
+  //
+  public void setObjectFile(S3ObjectWriter objFile)
+  {
+    this.objFile = objFile;
+  }
+  //-----------------------------------------
+  // Code emitted from now on is for source line line.
+  //
+  public void setLine(int line)
+  {
+    this.line = line;
+    if (optimizing)
+      code.currentLine = line;
+  }
+  //-----------------------------------------
+  // Writer for comment lines (the source echo and token
+  // trace), so that they keep their place among the
+  // instructions.
+  //
+  public Writer getTextWriter()
+  {
+    return optimizing ? code : outFile;
+  }
+  //-----------------------------------------
+  public S3Expr constant(String image)
+  {
+    if (!optimizing)
+    {
+      emitInstruction(PWC, image);
+      return null;
+    }
+
+    S3Expr e = new S3Expr(PWC, image);
+    long v = S3Expr.wordValue(image);
+    if (v != S3Expr.NOT_WORD)
+    {
+      e.known = true;
+      e.value = (int)v;
+    }
+    return e;
+  }
+  //-----------------------------------------
+  public S3Expr variable(String name)
+  {
+    if (!optimizing)
+    {
+      emitInstruction(P, name);
+      return null;
+    }
+    return new S3Expr(P, name);
+  }
+  //-----------------------------------------
+  // Apply negs neg instructions to e.
+  //
+  public S3Expr negate(S3Expr e, int negs)
+  {
+    if (!optimizing)
+    {
+      for (; negs > 0; negs--)
+        emitInstruction(NEG);
+      return null;
+    }
+
+    if (negs % 2 == 0)           // neg neg does nothing
+      return e;
+    if (e.known && S3Expr.fits(-e.value))
+      return new S3Expr(-e.value);
+    if (e.kind == NEG)
+      return e.left;
+    return new S3Expr(NEG, e, null);
+  }
+  //-----------------------------------------
+  // op is ADD, SUB, MULT, or DIV.
+  //
+  public S3Expr binary(int op, S3Expr left, S3Expr right)
+  {
+    if (!optimizing)
+    {
+      emitInstruction(op);
+      return null;
+    }
+
+    if (left.known && right.known)
+    {
+      long a = left.value;
+      long b = right.value;
+      long v;
+      switch (op)
+      {
+        case ADD:   v = a + b; break;
+        case SUB:   v = a - b; break;
+        case MULT:  v = a * b; break;
+        default:    v = b == 0 ? Long.MAX_VALUE : a / b;
+      }
+      if (S3Expr.fits(v))
+        return new S3Expr((int)v);
+    }
+    return new S3Expr(op, left, right);
+  }
+  //-----------------------------------------
+  // Emit code for e (nothing if e is null), computing
+  // each common subexpression once.
+  //
+  public void emitExpr(S3Expr e)
+  {
+    if (e == null)
+      return;
+    shareSubexpressions(e);
+    emitTree(e);
+  }
+  //-----------------------------------------
+  // The left operands are followed down in a loop, so a
+  // long chain like x + 1 + 1 + ... + 1 does not recurse
+  // once per operator.
+  //
+  private void emitTree(S3Expr e)
+  {
+    if (e == null)
+      return;
+
+    int bottom = spine.size();
+    while (e.left != null)
+    {
+      if (e.kind == STAV)
+        emitInstruction(PC, e.image);
+      spine.add(e);
+      e = e.left;
+    }
+    emitInstruction(e.kind, e.image);
+
+    while (spine.size() > bottom)
+    {
+      e = spine.remove(spine.size() - 1);
+      emitTree(e.right);
+      emitInstruction(e.kind);
+      if (e.kind == STAV)
+        emitInstruction(P, e.image);
+    }
+  }
+  //-----------------------------------------
+  // Local common subexpression elimination.  The nodes
+  // of e are given value numbers, equal for subtrees
+  // that compute the same value (the variables cannot
+  // change within an expression).  A subexpression
+  // computed twice as the operands of one operator,
+  // E op E, becomes E; dupe; op.  One computed n times
+  // in other ways, by code of s instructions, is stored
+  // in a temporary the first time (pc t; E; stav; p t)
+  // and loaded from it after (p t) if that saves
+  // instructions, that is if (n - 1)(s - 1) > 3.
+  //
+  private void shareSubexpressions(S3Expr e)
+  {
+    valueNumber.clear();
+    count = new int[16];
+    size = new int[16];
+    temp = new String[16];
+
+    // number the nodes, children first
+    spine.add(e);
+    while (!spine.isEmpty())
+    {
+      S3Expr t = spine.get(spine.size() - 1);
+      if (t.left != null && t.left.number == 0)
+        spine.add(t.left);
+      else if (t.right != null && t.right.number == 0)
+        spine.add(t.right);
+      else
+      {
+        spine.remove(spine.size() - 1);
+        numberNode(t);
+      }
+    }
+
+    // count the times each value is computed, not
+    // counting inside a subtree whose value was computed
+    // before
+    spine.add(e);
+    while (!spine.isEmpty())
+    {
+      S3Expr t = spine.remove(spine.size() - 1);
+      if (count[t.number]++ > 0)
+        continue;
+      if (t.right != null)
+        spine.add(t.right);
+      if (t.left != null)
+        spine.add(t.left);
+    }
+
+    // rewrite, visiting the nodes in the order their
+    // values are computed
+    int temps = 0;
+    spine.add(e);
+    while (!spine.isEmpty())
+    {
+      S3Expr t = spine.remove(spine.size() - 1);
+      int n = t.number;
+      int s = size[n];
+      if (temp[n] != null)
+      {
+        t.kind = P;
+        t.image = temp[n];
+        t.left = t.right = null;
+        continue;
+      }
+      if (count[n] > 1 && (count[n] - 1) * (s - 1) > 3)
+      {
+        S3Expr value = new S3Expr(t.kind, t.left, t.right);
+        value.image = t.image;
+        value.number = n;
+        temp[n] = "@T" + temps++;
+        st.enter(temp[n]);
+        t.kind = STAV;
+        t.image = temp[n];
+        t.left = value;
+        t.right = null;
+        t = value;
+      }
+      if (t.right != null && t.left.number == t.right.number &&
+          count[t.left.number] == 2 && size[t.left.number] > 1)
+      {
+        count[t.left.number] = 1;
+        t.left = new S3Expr(DUPE, t.left, null);
+        t.right = null;
+      }
+      if (t.right != null)
+        spine.add(t.right);
+      if (t.left != null)
+        spine.add(t.left);
+    }
+  }
+  //-----------------------------------------
+  // Give t, whose children are numbered, its value
+  // number and note the size of its code.
+  //
+  private void numberNode(S3Expr t)
+  {
+    Object key;
+    int s = 1;
+    if (t.left == null)
+      key = t.known ? (Object)Integer.valueOf(t.value)
+                    : t.kind + " " + t.image;
+    else
+    {
+      long a = t.left.number;
+      long b = t.right == null ? 0 : t.right.number;
+      if ((t.kind == ADD || t.kind == MULT) && a > b)
+      {
+        long swap = a;
+        a = b;
+        b = swap;
+      }
+      key = (long)t.kind << 56 | a << 28 | b;
+      s += size[t.left.number] +
+           (t.right == null ? 0 : size[t.right.number]);
+    }
+
+    Integer n = valueNumber.get(key);
+    if (n == null)
+    {
+      n = valueNumber.size() + 1;
+      valueNumber.put(key, n);
+      if (n == count.length)
+      {
+        count = Arrays.copyOf(count, 2 * n);
+        size = Arrays.copyOf(size, 2 * n);
+        temp = Arrays.copyOf(temp, 2 * n);
+      }
+      size[n] = s;
+    }
+    t.number = n;
+  }
+  //-----------------------------------------
+  public void emitInstruction(int op)
+  {
+    emitInstruction(op, null);
+  }
+  //-----------------------------------------
+  public void emitInstruction(int op, String opnd)
+  {
+    if (optimizing)
+      code.add(op, opnd);
+    else
+      writeInstruction(op, opnd);
+  }
+  //-----------------------------------------
+  public void emitdw(String label, String value)
+  {
+    if (optimizing)
+      code.addDw(label, value);
+    else
+      writeDw(label, value);
+  }
+  //-----------------------------------------
+  // Emit code to print the string literal image.  When
+  // optimizing, each distinct literal gets one label and
+  // one dw, shared by every place it is printed.
+  //
+  public void emitSout(String image)
+  {
+    String label = optimizing ? strings.get(image) : null;
+    boolean isNew = label == null;
+    if (isNew)
+    {
+      label = getLabel();
+      if (optimizing)
+        strings.put(image, label);
+    }
+
+    emitInstruction(PC, label);
+    emitInstruction(SOUT);
+    if (isNew)
+      emitdw("^" + label, image);
+  }
+  //-----------------------------------------
+  public void endCode()
+  {
+    if (optimizing)
+      code.addText(System.lineSeparator());
+    else
+      outFile.newLine();
+    emitInstruction(HALT);
+
+    int size = st.getSize();
+    // emit dw for each symbol in the symbol table
+    for (int i=0; i < size; i++)
+        emitdw(st.getSymbol(i), "0");
+
+    if (optimizing)
+    {
+      S3Optimizer optimizer = new S3Optimizer(code);
+      optimizer.peephole();
+      optimizer.evaluate(getLabel());
+      optimizer.removeDeadStores();
+      optimizer.peephole();
+      writeCode();
+    }
+  }
+  public String getLabel()
+  {
+      return "@L" + labelNumber++;
+  }
+  //-----------------------------------------
+  // Forget the last program, keeping arrays for reuse.
+  //
+  public void reset()
+  {
+    labelNumber = 0;
+    line = 0;
+    if (optimizing)
+    {
+      code.clear();
+      code.currentLine = 0;
+      strings.clear();
+    }
+  }
+  //-----------------------------------------
+  // Write out any instructions still held and everything
+  // buffered, leaving the output file open.
+  //
+  public void finish() throws IOException
+  {
+    if (optimizing)
+      writeCode();
+    outFile.finish();
+  }
+  //-----------------------------------------
+  // Write out any instructions still held (those of a
+  // program with an error are written as they are) and
+  // close the output file.
+  //
+  public void close() throws IOException
+  {
+    if (optimizing)
+      writeCode();
+    outFile.close();
+    if (objFile != null)
+      objFile.close();
+  }
+  //-----------------------------------------
+  private void writeCode()
+  {
+    code.endText();
+    int textBegin = 0;
+    for (int i = 0; i < code.size; i++)
+      switch (code.op[i])
+      {
+        case S3Code.TEXT:
+          writeText(textBegin, code.textEnd[i]);
+          textBegin = code.textEnd[i];
+          break;
+        case S3Code.DW:
+          writeDw(code.operand[i], code.value[i]);
+          break;
+        case S3Code.NONE:
+          break;
+        default:
+          line = code.line[i];
+          writeInstruction(code.op[i], code.operand[i]);
+      }
+    code.clear();
+  }
+  //-----------------------------------------
+  private void writeText(int begin, int end)
+  {
+    while (begin < end)
+    {
+      int offset = begin % S3Code.CHUNK_SIZE;
+      int n = Math.min(end - begin,
+                       S3Code.CHUNK_SIZE - offset);
+      outFile.print(code.text.get(begin / S3Code.CHUNK_SIZE),
+                    offset, n);
+      begin += n;
+    }
+  }
+  //-----------------------------------------
+  private void writeInstruction(int op, String opnd)
+  {
+    outFile.printInstruction(mnemonic[op - PC], opnd);
+    if (objFile != null)
+      objFile.instruction(op, opnd, line);
+  }
+  //-----------------------------------------
+  private void writeDw(String label, String value)
+  {
+    outFile.printDw(label, value);
+    if (objFile != null)
+      objFile.dw(label, value);
+  }
+}                                    // end of S3CodeGen
+//======================================================
+// Instructions of a program held in memory so that the
+// optimizer can look at and rewrite them before they
+// are written out.  Entry i is op[i] with operand[i]
+// (null if none), where op[i] is an opcode, DW for a dw
+// line (label in operand[i], value in value[i]), TEXT
+// for comment text to be copied out as it is, or NONE
+// for an entry the optimizer has removed.  Text written
+// to this Writer becomes TEXT entries.  The text of all
+// of them is kept back to back in fixed-size chunks,
+// and a TEXT entry's text runs from the end of the one
+// before it to textEnd[i].  line[i] is the source line
+// the entry was made for.
+//
+class S3Code extends Writer
+{
+  static final int NONE = -1;
+  static final int DW = -2;
+  static final int TEXT = -3;
+  static final int CHUNK_SIZE = 1 << 16;
+
+  int[] op;
+  String[] operand;
+  String[] value;
+  int[] textEnd;
+  int[] line;
+  int size;
+  int currentLine;             // given to new entries
+  ArrayList<char[]> text;      // chunks of text
+  int textLength;
+  private int textEntered;     // text before it is in entries
+  //-----------------------------------------
+  S3Code()
+  {
+    op = new int[256];
+    operand = new String[256];
+    value = new String[256];
+    textEnd = new int[256];
+    line = new int[256];
+    text = new ArrayList<char[]>();
+  }
+  //-----------------------------------------
+  void add(int op, String operand)
+  {
+    endText();
+    append(op, operand, null);
+  }
+  //-----------------------------------------
+  void addDw(String label, String value)
+  {
+    endText();
+    append(DW, label, value);
+  }
+  //-----------------------------------------
+  void addText(String s)
+  {
+    write(s, 0, s.length());
+  }
+  //-----------------------------------------
+  // Put text written since the last entry into a TEXT
+  // entry.
+  //
+  void endText()
+  {
+    if (textLength > textEntered)
+    {
+      textEntered = textLength;
+      append(TEXT, null, null);
+    }
+  }
+  //-----------------------------------------
+  private void append(int op, String operand, String value)
+  {
+    if (size == this.op.length)
+    {
+      this.op = Arrays.copyOf(this.op, 2 * size);
+      this.operand = Arrays.copyOf(this.operand, 2 * size);
+      this.value = Arrays.copyOf(this.value, 2 * size);
+      textEnd = Arrays.copyOf(textEnd, 2 * size);
+      line = Arrays.copyOf(line, 2 * size);
+    }
+    this.op[size] = op;
+    this.operand[size] = operand;
+    this.value[size] = value;
+    textEnd[size] = textEntered;
+    line[size] = currentLine;
+    size++;
+  }
+  //-----------------------------------------
+  // Insert an entry before entry index.
+  //
+  void insert(int index, int op, String operand,
+                                             String value)
+  {
+    append(NONE, null, null);
+    int n = size - 1 - index;
+    System.arraycopy(this.op, index, this.op, index + 1, n);
+    System.arraycopy(this.operand, index,
+                     this.operand, index + 1, n);
+    System.arraycopy(this.value, index,
+                     this.value, index + 1, n);
+    System.arraycopy(textEnd, index, textEnd, index + 1, n);
+    System.arraycopy(line, index, line, index + 1, n);
+    this.op[index] = op;
+    this.operand[index] = operand;
+    this.value[index] = value;
+    textEnd[index] = index > 0 ? textEnd[index - 1] : 0;
+  }
+  //-----------------------------------------
+  // Squeeze out NONE entries.
+  //
+  void compact()
+  {
+    int n = 0;
+    for (int i = 0; i < size; i++)
+      if (op[i] != NONE)
+      {
+        op[n] = op[i];
+        operand[n] = operand[i];
+        value[n] = value[i];
+        textEnd[n] = textEnd[i];
+        line[n] = line[i];
+        n++;
+      }
+    Arrays.fill(operand, n, size, null);
+    Arrays.fill(value, n, size, null);
+    size = n;
+  }
+  //-----------------------------------------
+  void clear()
+  {
+    Arrays.fill(operand, 0, size, null);
+    Arrays.fill(value, 0, size, null);
+    size = 0;
+    while (text.size() > 1)      // keep one chunk
+      text.remove(text.size() - 1);
+    textLength = 0;
+    textEntered = 0;
+  }
+  //-----------------------------------------
+  public void write(char[] chars, int offset, int length)
+  {
+    while (length > 0)
+    {
+      int n = room(length);
+      System.arraycopy(chars, offset,
+                       text.get(textLength / CHUNK_SIZE),
+                       textLength % CHUNK_SIZE, n);
+      textLength += n;
+      offset += n;
+      length -= n;
+    }
+  }
+  //-----------------------------------------
+  public void write(String s, int offset, int length)
+  {
+    while (length > 0)
+    {
+      int n = room(length);
+      s.getChars(offset, offset + n,
+                 text.get(textLength / CHUNK_SIZE),
+                 textLength % CHUNK_SIZE);
+      textLength += n;
+      offset += n;
+      length -= n;
+    }
+  }
+  //-----------------------------------------
+  // Return how many of length chars fit in the chunk
+  // text goes on in, adding a chunk if there is none
+  // (clear() keeps the first chunk).
+  //
+  private int room(int length)
+  {
+    int used = textLength % CHUNK_SIZE;
+    if (used == 0 && text.size() == textLength / CHUNK_SIZE)
+      text.add(new char[CHUNK_SIZE]);
+    return Math.min(length, CHUNK_SIZE - used);
+  }
+  //-----------------------------------------
+  public void flush()
+  {
+  }
+  //-----------------------------------------
+  public void close()
+  {
+  }
+}                                       // end of S3Code
+//======================================================
+// Optimizations over the instructions in an S3Code.
+// S3 programs have no jumps, so the code is one
+// straight-line block.
+//
+class S3Optimizer implements S3Constants
+{
+  // numbers of stack words each opcode pops and pushes,
+  // indexed by opcode - PC
+  private static final int[] pops =
+    {0, 0, 0, 2, 2, 2, 2, 2, 1, 1, 3, 1, 1, 1, 0, 0};
+  private static final int[] pushes =
+    {1, 1, 1, 0, 1, 1, 1, 1, 1, 2, 3, 0, 0, 0, 1, 0};
+
+  // longest text evaluate() puts in one dw; the stack
+  // machine's memory is small
+  private static final int MAX_TEXT = 1024;
+
+  private S3Code code;
+  private int[] kept;          // entries of kept instructions
+  private int keptSize;
+
+  // state of the code run by evaluate()
+  private long[] stack;        // values
+  private String[] address;    // or labels pushed by pc
+  private int depth;
+  private HashMap<String, Integer> dwIndex;  // by label
+  private HashMap<String, Integer> memory;   // at cut
+  private HashMap<String, Integer> stored;   // since cut
+  private StringBuilder output;
+
+  // state of removeDeadStores(); positions are indexes
+  // into ins, the entries of the instructions
+  private int[] ins;
+  private int insSize;
+  private int[] start;         // of the code computing
+  private boolean[] pure;      //   each stack word
+  private int[] storeAddress;  // for each stav position,
+  private int[] storeValue;    //   the pc position, the
+  private boolean[] removable; //   value's start
+  //-----------------------------------------
+  public S3Optimizer(S3Code code)
+  {
+    this.code = code;
+  }
+  //-----------------------------------------
+  // Each instruction in turn is added to the end of the
+  // list of those kept, and then the end of that list
+  // is rewritten for as long as it matches one of
+  //
+  //   pwc c; neg         ->  pwc -c
+  //   neg; neg           ->
+  //   pwc 0; add         ->
+  //   pwc 0; sub         ->
+  //   pwc 1; mult        ->
+  //   pwc 1; div         ->
+  //   dupe; rot; stav    ->  stav; p b
+  //
+  // where in the last, b is the address under the value
+  // duplicated, pushed by an earlier pc b.  (The stav
+  // stores the value in b, so p b pushes it again.)
+  // TEXT and DW entries in between are passed over.
+  //
+  public void peephole()
+  {
+    kept = new int[64];
+    keptSize = 0;
+    for (int i = 0; i < code.size; i++)
+      if (code.op[i] >= PC)
+      {
+        if (keptSize == kept.length)
+          kept = Arrays.copyOf(kept, 2 * keptSize);
+        kept[keptSize++] = i;
+        while (rewrite())
+          ;
+      }
+    code.compact();
+  }
+  //-----------------------------------------
+  private boolean rewrite()
+  {
+    if (keptSize < 2)
+      return false;
+    int last = kept[keptSize - 1];
+    int prev = kept[keptSize - 2];
+    long c = code.op[prev] == PWC ?
+             S3Expr.wordValue(code.operand[prev]) :
+             S3Expr.NOT_WORD;
+
+    switch (code.op[last])
+    {
+      case NEG:
+        if (c != S3Expr.NOT_WORD && S3Expr.fits(-c))
+        {
+          code.operand[prev] = Long.toString(-c);
+          remove(1);
+          return true;
+        }
+        if (code.op[prev] == NEG)
+        {
+          remove(2);
+          return true;
+        }
+        return false;
+      case ADD:
+      case SUB:
+        if (c == 0)
+        {
+          remove(2);
+          return true;
+        }
+        return false;
+      case MULT:
+      case DIV:
+        if (c == 1)
+        {
+          remove(2);
+          return true;
+        }
+        return false;
+      case STAV:
+        if (keptSize < 3 || code.op[prev] != ROT ||
+            code.op[kept[keptSize - 3]] != DUPE)
+          return false;
+        String b = addressUnder(keptSize - 3);
+        if (b == null)
+          return false;
+        int dupe = kept[keptSize - 3];
+        code.op[dupe] = STAV;
+        code.op[prev] = P;
+        code.operand[prev] = b;
+        remove(1);
+        return true;
+      default:
+        return false;
+    }
+  }
+  //-----------------------------------------
+  // Remove the last n kept instructions.
+  //
+  private void remove(int n)
+  {
+    for (; n > 0; n--)
+    {
+      int i = kept[--keptSize];
+      code.op[i] = S3Code.NONE;
+      code.operand[i] = null;
+    }
+  }
+  //-----------------------------------------
+  // Return b if the word just under the top of the
+  // stack before kept instruction k was pushed by a
+  // pc b, or null if it was computed some other way.
+  //
+  private String addressUnder(int k)
+  {
+    int depth = 1;    // of the word sought, 0 is the top
+    for (int j = k - 1; j >= 0; j--)
+    {
+      int i = kept[j];
+      int op = code.op[i];
+      if (depth < pushes[op - PC])
+        return op == PC && !code.operand[i].startsWith("'")
+               ? code.operand[i] : null;
+      depth += pops[op - PC] - pushes[op - PC];
+    }
+    return null;
+  }
+  //-----------------------------------------
+  // Partial evaluation.  The code is run from the start
+  // for as long as every value is known:  up to the
+  // first din, or an operation whose result is not a
+  // 16-bit signed value or that divides by zero, or a
+  // string it cannot copy.  The code run, up to the last
+  // point where the stack was empty and the text output
+  // was at most MAX_TEXT chars, is replaced by one sout
+  // of that text (using label for its dw), and the values
+  // it left in variables become their dw values.  String
+  // dw lines it used are dropped unless later code uses
+  // them too.  A program without din is thus reduced to
+  // printing its output.
+  //
+  public void evaluate(String label)
+  {
+    stack = new long[16];
+    address = new String[16];
+    depth = 0;
+    dwIndex = new HashMap<String, Integer>();
+    memory = new HashMap<String, Integer>();
+    stored = new HashMap<String, Integer>();
+    output = new StringBuilder();
+    for (int i = 0; i < code.size; i++)
+      if (code.op[i] == S3Code.DW)
+        dwIndex.put(code.operand[i].startsWith("^") ?
+                    code.operand[i].substring(1) :
+                    code.operand[i], i);
+
+    int cut = 0;                 // entry after the code run
+    int textAtCut = 0;
+    for (int i = 0; i < code.size; i++)
+    {
+      if (code.op[i] < PC)
+        continue;
+      if (!run(i))
+        break;
+      if (depth == 0)
+      {
+        if (output.length() > MAX_TEXT)
+          break;
+        cut = i + 1;
+        textAtCut = output.length();
+        memory.putAll(stored);
+        stored.clear();
+      }
+    }
+    if (cut == 0)
+      return;
+
+    // labels still used after the cut
+    HashSet<String> used = new HashSet<String>();
+    for (int i = cut; i < code.size; i++)
+      if (code.op[i] == PC)
+        used.add(code.operand[i]);
+
+    for (int i = 0; i < cut; i++)
+      if (code.op[i] >= PC ||
+          code.op[i] == S3Code.DW &&
+          !used.contains(code.operand[i].substring(1)))
+      {
+        code.op[i] = S3Code.NONE;
+        code.operand[i] = null;
+        code.value[i] = null;
+      }
+    for (Map.Entry<String, Integer> m : memory.entrySet())
+      code.value[dwIndex.get(m.getKey())] =
+                                 m.getValue().toString();
+
+    if (textAtCut > 0)
+    {
+      code.insert(cut, S3Code.DW, "^" + label,
+                  "\"" + output.substring(0, textAtCut) + "\"");
+      code.insert(cut, SOUT, null, null);
+      code.insert(cut, PC, label, null);
+    }
+    code.compact();
+  }
+  //-----------------------------------------
+  // Run instruction entry i; return false if it cannot
+  // be run at compile time.
+  //
+  private boolean run(int i)
+  {
+    String opnd = code.operand[i];
+    long a, b, v;
+    switch (code.op[i])
+    {
+      case PC:
+        if (opnd.equals("'\\n'"))
+          return push('\n', null);
+        if (opnd.startsWith("'"))
+          return false;
+        return push(0, opnd);
+      case PWC:
+        v = S3Expr.wordValue(opnd);
+        return v != S3Expr.NOT_WORD && push(v, null);
+      case P:
+        return push(load(opnd), null);
+      case STAV:
+        if (address[depth - 1] != null ||
+            address[depth - 2] == null)
+          return false;
+        stored.put(address[depth - 2], (int)stack[depth - 1]);
+        depth -= 2;
+        return true;
+      case ADD:
+      case SUB:
+      case MULT:
+      case DIV:
+        if (address[depth - 1] != null ||
+            address[depth - 2] != null)
+          return false;
+        b = stack[--depth];
+        a = stack[--depth];
+        switch (code.op[i])
+        {
+          case ADD:   v = a + b; break;
+          case SUB:   v = a - b; break;
+          case MULT:  v = a * b; break;
+          default:
+            if (b == 0)
+              return false;
+            v = a / b;
+        }
+        return S3Expr.fits(v) && push(v, null);
+      case NEG:
+        if (address[depth - 1] != null ||
+            !S3Expr.fits(-stack[depth - 1]))
+          return false;
+        stack[depth - 1] = -stack[depth - 1];
+        return true;
+      case DUPE:
+        return push(stack[depth - 1], address[depth - 1]);
+      case ROT:
+        // top word goes under the two below it
+        long top = stack[depth - 1];
+        String topAddress = address[depth - 1];
+        for (int k = depth - 1; k > depth - 3; k--)
+        {
+          stack[k] = stack[k - 1];
+          address[k] = address[k - 1];
+        }
+        stack[depth - 3] = top;
+        address[depth - 3] = topAddress;
+        return true;
+      case DOUT:
+        if (address[depth - 1] != null)
+          return false;
+        output.append(stack[--depth]);
+        return true;
+      case AOUT:
+        if (address[depth - 1] != null)
+          return false;
+        v = stack[--depth];
+        if (v == '\n')
+          output.append("\\n");
+        else if (v >= ' ' && v <= '~' && v != '"' && v != '\\')
+          output.append((char)v);
+        else
+          return false;
+        return true;
+      case SOUT:
+        if (address[depth - 1] == null)
+          return false;
+        String image = stringImage(address[--depth]);
+        if (image == null)
+          return false;
+        output.append(image);
+        return true;
+      default:                   // din, halt
+        return false;
+    }
+  }
+  //-----------------------------------------
+  private boolean push(long value, String label)
+  {
+    if (depth == stack.length)
+    {
+      stack = Arrays.copyOf(stack, 2 * depth);
+      address = Arrays.copyOf(address, 2 * depth);
+    }
+    stack[depth] = value;
+    address[depth] = label;
+    depth++;
+    return true;
+  }
+  //-----------------------------------------
+  private long load(String name)
+  {
+    Integer v = stored.get(name);
+    if (v == null)
+      v = memory.get(name);
+    if (v != null)
+      return v;
+    Integer dw = dwIndex.get(name);
+    return dw == null ? 0 : Long.parseLong(code.value[dw]);
+  }
+  //-----------------------------------------
+  // Chars between the quotes of the string dw at label,
+  // or null if it has a backslash that does not start a
+  // \n (joined with other text, it might be read
+  // differently).
+  //
+  private String stringImage(String label)
+  {
+    Integer dw = dwIndex.get(label);
+    if (dw == null || !code.value[dw].startsWith("\""))
+      return null;
+    String image = code.value[dw];
+    image = image.substring(1, image.length() - 1);
+    for (int k = image.indexOf('\\'); k >= 0;
+         k = image.indexOf('\\', k + 2))
+      if (k + 1 == image.length() || image.charAt(k + 1) != 'n')
+        return null;
+    return image;
+  }
+  //-----------------------------------------
+  // Dead store elimination and copy propagation.  A read
+  // p y following y = x or y = c, with neither variable
+  // stored in between, becomes p x or pwc c.  Then,
+  // going backwards, a store to a variable not read again
+  // is removed along with the code computing the value,
+  // unless that code does a din or a div that might be
+  // by zero.  Variables no longer used lose their dw.
+  //
+  public void removeDeadStores()
+  {
+    ins = new int[code.size];
+    insSize = 0;
+    for (int i = 0; i < code.size; i++)
+      if (code.op[i] >= PC)
+        ins[insSize++] = i;
+    storeAddress = new int[insSize];
+    storeValue = new int[insSize];
+    removable = new boolean[insSize];
+    propagateCopies();
+
+    HashSet<String> live = new HashSet<String>();
+    for (int k = insSize - 1; k >= 0; k--)
+    {
+      int i = ins[k];
+      if (code.op[i] == P)
+        live.add(code.operand[i]);
+      else if (code.op[i] == STAV && storeAddress[k] >= 0)
+      {
+        String name = code.operand[ins[storeAddress[k]]];
+        if (live.remove(name) || !removable[k])
+          continue;
+        for (int j = k; j >= storeValue[k]; j--)
+          removeAt(j);
+        removeAt(storeAddress[k]);
+        k = storeValue[k];
+      }
+    }
+
+    HashSet<String> used = new HashSet<String>();
+    for (int i = 0; i < code.size; i++)
+      if (code.op[i] == P || code.op[i] == PC)
+        used.add(code.operand[i]);
+    for (int i = 0; i < code.size; i++)
+      if (code.op[i] == S3Code.DW &&
+          !code.operand[i].startsWith("^") &&
+          !used.contains(code.operand[i]))
+      {
+        code.op[i] = S3Code.NONE;
+        code.operand[i] = null;
+        code.value[i] = null;
+      }
+    code.compact();
+  }
+  //-----------------------------------------
+  private void removeAt(int k)
+  {
+    code.op[ins[k]] = S3Code.NONE;
+    code.operand[ins[k]] = null;
+  }
+  //-----------------------------------------
+  // Follow the stack through the instructions, noting
+  // for each stack word the position where the code
+  // computing it starts (-1 if it was made by or moved
+  // by dupe or rot, so that code is not all its own)
+  // and whether that code is free of din and of div by
+  // a word that might be 0.  For each stav, note the
+  // position of the pc that pushed its address and the
+  // start of the value, and whether the two can be
+  // removed with it.  Code in between them, as in
+  // x = y = e, only works above the address, so it can
+  // stay.  Reads are forwarded along the way.
+  //
+  private void propagateCopies()
+  {
+    HashMap<String, Integer> copies =
+                             new HashMap<String, Integer>();
+    start = new int[16];
+    pure = new boolean[16];
+    depth = 0;
+    for (int k = 0; k < insSize; k++)
+    {
+      int i = ins[k];
+      int a, v;
+      switch (code.op[i])
+      {
+        case P:
+          Integer copy = copies.get(code.operand[i]);
+          if (copy != null)
+          {
+            code.op[i] = code.op[ins[copy]];
+            code.operand[i] = code.operand[ins[copy]];
+          }
+          pushFrom(k, true);
+          break;
+        case PC:
+        case PWC:
+          pushFrom(k, true);
+          break;
+        case DIN:
+          pushFrom(k, false);
+          break;
+        case STAV:
+          v = --depth;
+          a = --depth;
+          storeAddress[k] = -1;
+          if (start[a] < 0 || code.op[ins[start[a]]] != PC ||
+              code.operand[ins[start[a]]].startsWith("'"))
+          {
+            // store to an unknown address; forget all
+            copies.clear();
+            break;
+          }
+          storeAddress[k] = start[a];
+          storeValue[k] = start[v];
+          String name = code.operand[ins[start[a]]];
+          removable[k] = start[v] >= 0 && pure[v];
+          Iterator<Integer> c = copies.values().iterator();
+          while (c.hasNext())
+          {
+            int from = ins[c.next()];
+            if (code.op[from] == P &&
+                code.operand[from].equals(name))
+              c.remove();
+          }
+          copies.remove(name);
+          int value = ins[k - 1];
+          if (start[v] == k - 1 && (code.op[value] == PWC ||
+              code.op[value] == P &&
+              !code.operand[value].equals(name)))
+            copies.put(name, k - 1);
+          break;
+        case ADD:
+        case SUB:
+        case MULT:
+        case DIV:
+          v = --depth;
+          a = depth - 1;
+          if (start[a] >= 0 && start[v] >= 0)
+            pure[a] &= pure[v] && (code.op[i] != DIV ||
+                                   nonzeroConstant(k - 1, v));
+          else
+            start[a] = -1;
+          break;
+        case NEG:
+          break;
+        case DUPE:
+          start[depth - 1] = -1;
+          pushFrom(-1, false);
+          break;
+        case ROT:
+          for (int j = depth - 3; j < depth; j++)
+            start[j] = -1;
+          break;
+        case DOUT:
+        case AOUT:
+        case SOUT:
+          depth--;
+          break;
+        default:                 // halt
+          break;
+      }
+    }
+  }
+  //-----------------------------------------
+  // Push a stack word computed by code starting at
+  // position k.
+  //
+  private void pushFrom(int k, boolean isPure)
+  {
+    if (depth == start.length)
+    {
+      start = Arrays.copyOf(start, 2 * depth);
+      pure = Arrays.copyOf(pure, 2 * depth);
+    }
+    start[depth] = k;
+    pure[depth] = isPure;
+    depth++;
+  }
+  //-----------------------------------------
+  // Return true if stack word v, ending at position k,
+  // is a pwc of a word other than 0.
+  //
+  private boolean nonzeroConstant(int k, int v)
+  {
+    if (start[v] != k || code.op[ins[k]] != PWC)
+      return false;
+    long c = S3Expr.wordValue(code.operand[ins[k]]);
+    return c != S3Expr.NOT_WORD && c != 0;
+  }
+}                                   // end of S3Optimizer
+//======================================================
+// Writer for the output file.  Chars are encoded into a
+// large byte array that is written to the file through
+// a FileChannel each time it fills up.  The code
+// generator puts instruction and dw lines straight into
+// the array with printInstruction() and printDw(),
+// built on print(), printPadded(), printSpaces(), and
+// newLine(); these report a write error with an
+// UncheckedIOException.  Other output (the source echo
+// and token trace) comes through a PrintWriter wrapped
+// around this writer, which adds no buffering of its
+// own, so the two kinds of output stay in order.  The
+// bytes written are the same as a PrintWriter on the
+// file would write:  the platform charset and line
+// separator, with chars it cannot encode replaced.
+//
+class S3AsmWriter extends Writer
+{
+  private static final String lineSeparator =
+                                   System.lineSeparator();
+  private static final String spaces = "                ";
+  private WritableByteChannel channel;
+  private byte[] bytes;
+  private int count;           // bytes in use
+  private CharsetEncoder encoder;
+  private boolean asciiBytes;  // chars < 0x80 are 1 byte
+  private char highSurrogate;  // left by last write, or 0
+
+  // with startWriter(), full arrays go through full to
+  // a writer thread, which returns them through empty
+  private static final ByteBuffer END = ByteBuffer.allocate(0);
+  private static final int BUFFERS = 4;
+  private Thread writer;
+  private S3Ring<ByteBuffer> full;
+  private S3Ring<byte[]> empty;
+  private volatile IOException writeFailure;
+  //-----------------------------------------
+  public S3AsmWriter(String fileName) throws IOException
+  {
+    this(FileChannel.open(new File(fileName).toPath(),
+                          StandardOpenOption.CREATE,
+                          StandardOpenOption.WRITE,
+                          StandardOpenOption.TRUNCATE_EXISTING),
+         1 << 16);
+  }
+  //-----------------------------------------
+  public S3AsmWriter(WritableByteChannel channel, int size)
+  {
+    this.channel = channel;
+    bytes = new byte[Math.max(size, 16)];
+    Charset charset = Charset.defaultCharset();
+    encoder = charset.newEncoder()
+                  .onMalformedInput(CodingErrorAction.REPLACE)
+                  .onUnmappableCharacter(
+                                  CodingErrorAction.REPLACE);
+
+    byte[] ascii = new byte[0x80];
+    for (int c = 0; c < ascii.length; c++)
+      ascii[c] = (byte)c;
+    asciiBytes = Arrays.equals(ascii,
+         new String(ascii, StandardCharsets.US_ASCII)
+                                       .getBytes(charset));
+  }
+  //-----------------------------------------
+  // Write to the channel on a thread of its own, so the
+  // compiler does not wait for the file.  The bytes
+  // written are the same.
+  //
+  public void startWriter()
+  {
+    full = new S3Ring<ByteBuffer>(BUFFERS);
+    empty = new S3Ring<byte[]>(BUFFERS);
+    for (int k = 1; k < BUFFERS; k++)
+      empty.put(new byte[bytes.length]);
+    writer = new Thread(this::writeBuffers, "S3 writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+  //-----------------------------------------
+  // Run by the writer thread.  After a write error the
+  // arrays still go back, so drain() never waits for
+  // ever; it reports the error instead.
+  //
+  private void writeBuffers()
+  {
+    ByteBuffer out;
+    while ((out = full.take()) != END)
+    {
+      try
+      {
+        while (writeFailure == null && out.hasRemaining())
+          channel.write(out);
+      }
+      catch (IOException e)
+      {
+        writeFailure = e;
+      }
+      empty.put(out.array());
+    }
+  }
+  //-----------------------------------------
+  // Lines are laid out as "          %-4s%n",
+  // "          %-4s      %s%n", and "%-9s dw        %s%n"
+  // would lay them out with printf.
+  //
+  public void printInstruction(String mnemonic, String opnd)
+  {
+    printSpaces(10);
+    printPadded(mnemonic, 4);
+    if (opnd != null)
+    {
+      printSpaces(6);
+      print(opnd);
+    }
+    newLine();
+  }
+  //-----------------------------------------
+  public void printDw(String label, String value)
+  {
+    print(label);
+    print(":");
+    printSpaces(8 - label.length());
+    print(" dw        ");
+    print(value);
+    newLine();
+  }
+  //-----------------------------------------
+  public void print(String s)
+  {
+    print(s, s.length());
+  }
+  //-----------------------------------------
+  public void print(char[] chars, int offset, int length)
+  {
+    try
+    {
+      write(chars, offset, length);
+    }
+    catch (IOException e)
+    {
+      throw new UncheckedIOException(e);
+    }
+  }
+  //-----------------------------------------
+  // Print s followed by spaces out to width chars.
+  //
+  public void printPadded(String s, int width)
+  {
+    print(s, s.length());
+    printSpaces(width - s.length());
+  }
+  //-----------------------------------------
+  public void printSpaces(int n)
+  {
+    for (; n > spaces.length(); n -= spaces.length())
+      print(spaces, spaces.length());
+    if (n > 0)
+      print(spaces, n);
+  }
+  //-----------------------------------------
+  public void newLine()
+  {
+    print(lineSeparator, lineSeparator.length());
+  }
+  //-----------------------------------------
+  private void print(String s, int length)
+  {
+    try
+    {
+      write(s, 0, length);
+    }
+    catch (IOException e)
+    {
+      throw new UncheckedIOException(e);
+    }
+  }
+  //-----------------------------------------
+  public void write(int c) throws IOException
+  {
+    if (asciiBytes && highSurrogate == 0 && c < 0x80)
+    {
+      if (count == bytes.length)
+        drain();
+      bytes[count++] = (byte)c;
+    }
+    else
+      encode(CharBuffer.wrap(new char[] {(char)c}));
+  }
+  //-----------------------------------------
+  public void write(String s, int offset, int length)
+                                        throws IOException
+  {
+    append(s, offset, offset + length);
+  }
+  //-----------------------------------------
+  public Writer append(CharSequence s, int begin, int end)
+                                        throws IOException
+  {
+    if (asciiBytes && highSurrogate == 0)
+      for (char c; begin < end &&
+                   (c = s.charAt(begin)) < 0x80; begin++)
+      {
+        if (count == bytes.length)
+          drain();
+        bytes[count++] = (byte)c;
+      }
+    if (begin < end)
+      encode(CharBuffer.wrap(s, begin, end));
+    return this;
+  }
+  //-----------------------------------------
+  public void write(char[] chars, int offset, int length)
+                                        throws IOException
+  {
+    int end = offset + length;
+    if (asciiBytes && highSurrogate == 0)
+      for (char c; offset < end &&
+                   (c = chars[offset]) < 0x80; offset++)
+      {
+        if (count == bytes.length)
+          drain();
+        bytes[count++] = (byte)c;
+      }
+    if (offset < end)
+      encode(CharBuffer.wrap(chars, offset, end - offset));
+  }
+  //-----------------------------------------
+  // Encode all of in with the charset encoder.  A high
+  // surrogate at the very end is held until the next
+  // write, which may bring its low half.
+  //
+  private void encode(CharBuffer in) throws IOException
+  {
+    if (highSurrogate != 0)
+    {
+      CharBuffer joined =
+                     CharBuffer.allocate(in.remaining() + 1);
+      joined.put(highSurrogate).put(in).flip();
+      in = joined;
+      highSurrogate = 0;
+    }
+
+    encode(in, false);
+    if (in.hasRemaining())
+      highSurrogate = in.get();
+  }
+  //-----------------------------------------
+  private void encode(CharBuffer in, boolean endOfInput)
+                                        throws IOException
+  {
+    while (true)
+    {
+      ByteBuffer out = ByteBuffer.wrap(bytes, count,
+                                       bytes.length - count);
+      CoderResult result = encoder.encode(in, out,
+                                          endOfInput);
+      count = out.position();
+      if (!result.isOverflow())
+        return;
+      drain();
+    }
+  }
+  //-----------------------------------------
+  // Write the bytes in use to the channel.
+  //
+  private void drain() throws IOException
+  {
+    if (writer != null)
+    {
+      if (writeFailure != null)
+        throw writeFailure;
+      if (count > 0)
+      {
+        full.put(ByteBuffer.wrap(bytes, 0, count));
+        bytes = empty.take();
+        count = 0;
+      }
+      return;
+    }
+
+    ByteBuffer out = ByteBuffer.wrap(bytes, 0, count);
+    while (out.hasRemaining())
+      channel.write(out);
+    count = 0;
+  }
+  //-----------------------------------------
+  public void flush() throws IOException
+  {
+    drain();
+  }
+  //-----------------------------------------
+  // Write out everything buffered, leaving the channel
+  // open so more can follow.
+  //
+  public void finish() throws IOException
+  {
+    // a high surrogate with no low half is malformed
+    if (highSurrogate != 0)
+    {
+      encode(CharBuffer.wrap(new char[] {highSurrogate}),
+             true);
+      highSurrogate = 0;
+    }
+    drain();
+    encoder.reset();
+  }
+  //-----------------------------------------
+  public void close() throws IOException
+  {
+    if (!channel.isOpen())
+      return;
+
+    try
+    {
+      finish();
+    }
+    finally
+    {
+      // the writer thread gets END even when finish()
+      // failed, so it never waits for ever
+      if (writer != null)
+        stopWriter();
+      channel.close();
+    }
+    if (writeFailure != null)
+      throw writeFailure;
+  }
+  //-----------------------------------------
+  private void stopWriter()
+  {
+    boolean interrupted = false;
+    full.put(END);
+    while (writer.isAlive())
+    {
+      try
+      {
+        writer.join();
+      }
+      catch (InterruptedException e)
+      {
+        interrupted = true;
+      }
+    }
+    writer = null;
+    if (interrupted)
+      Thread.currentThread().interrupt();
+  }
+}                                  // end of S3AsmWriter
+//======================================================
+// Binary object file written by the -obj option beside
+// the .a file, so a loader need not parse text.  After
+// the magic bytes "S3O" and a version byte come four
+// sections, each a tag byte, its length in bytes, and
+// its contents:
+//
+//   SYMBOLS  count, then each name (length, chars)
+//   STRINGS  count, then each string (length, UTF-8)
+//   LINES    count, then a pair for each instruction
+//            that starts a new source line:  the number
+//            of instructions since the last such one and
+//            the change in line number
+//   CODE     count, then each entry:  a code byte, then
+//            its operands
+//
+// Numbers are varints, 7 bits a byte, low bits first;
+// signed ones are zigzag encoded.  A code byte below
+// PC_CHAR is op - PC for an instruction.  pc and p take
+// the index of a name in SYMBOLS, pwc a signed value.
+// String literal dw lines keep the string without its
+// quotes in STRINGS.  An operand not in one of these
+// forms (a pwc image that is not the usual decimal for
+// a 16-bit value, for example) is kept as text in
+// STRINGS under one of the IMAGE codes, so the reader
+// gives back exactly what the .a file has.
+//
+class S3ObjectWriter implements S3Constants
+{
+  static final byte[] MAGIC = {'S', '3', 'O', 1};
+
+  // section tags
+  static final int SYMBOLS = 1;
+  static final int STRINGS = 2;
+  static final int LINES = 3;
+  static final int CODE = 4;
+
+  // code bytes besides op - PC
+  static final int PC_CHAR = 16;     // char
+  static final int IMAGE = 17;       // op - PC, string
+  static final int DW_NUMBER = 18;   // symbol, value
+  static final int DW_STRING = 19;   // symbol, string
+  static final int DW_IMAGE = 20;    // string, string
+
+  private String fileName;
+  private HashMap<String, Integer> symbolIndex;
+  private HashMap<String, Integer> stringIndex;
+  private ByteArrayOutputStream symbols;
+  private ByteArrayOutputStream strings;
+  private ByteArrayOutputStream lines;
+  private ByteArrayOutputStream code;
+  private int lineCount;
+  private int entryCount;
+  private int instructions;    // since the last line change
+  private int lastLine;
+  //-----------------------------------------
+  public S3ObjectWriter(String fileName)
+  {
+    this.fileName = fileName;
+    symbolIndex = new HashMap<String, Integer>();
+    stringIndex = new HashMap<String, Integer>();
+    symbols = new ByteArrayOutputStream();
+    strings = new ByteArrayOutputStream();
+    lines = new ByteArrayOutputStream();
+    code = new ByteArrayOutputStream(1 << 16);
+  }
+  //-----------------------------------------
+  public void instruction(int op, String opnd, int line)
+  {
+    if (line != lastLine)
+    {
+      putVarint(lines, instructions);
+      putVarint(lines, zigzag(line - lastLine));
+      lineCount++;
+      instructions = 0;
+      lastLine = line;
+    }
+    instructions++;
+    entryCount++;
+
+    if (opnd == null)
+      code.write(op - PC);
+    else if (op == PC && opnd.equals("'\\n'"))
+    {
+      code.write(PC_CHAR);
+      putVarint(code, '\n');
+    }
+    else if (op == PC && opnd.length() == 3 &&
+             opnd.charAt(0) == '\'' && opnd.charAt(2) == '\'')
+    {
+      code.write(PC_CHAR);
+      putVarint(code, opnd.charAt(1));
+    }
+    else if ((op == PC || op == P) && !opnd.startsWith("'"))
+    {
+      code.write(op - PC);
+      putVarint(code, symbol(opnd));
+    }
+    else if (op == PWC && isWord(opnd))
+    {
+      code.write(op - PC);
+      putVarint(code, zigzag(Integer.parseInt(opnd)));
+    }
+    else
+    {
+      code.write(IMAGE);
+      code.write(op - PC);
+      putVarint(code, string(opnd));
+    }
+  }
+  //-----------------------------------------
+  public void dw(String label, String value)
+  {
+    entryCount++;
+    if (label.startsWith("^") && value.length() >= 2 &&
+        value.startsWith("\"") && value.endsWith("\""))
+    {
+      code.write(DW_STRING);
+      putVarint(code, symbol(label.substring(1)));
+      putVarint(code,
+                string(value.substring(1, value.length() - 1)));
+    }
+    else if (!label.startsWith("^") && isWord(value))
+    {
+      code.write(DW_NUMBER);
+      putVarint(code, symbol(label));
+      putVarint(code, zigzag(Integer.parseInt(value)));
+    }
+    else
+    {
+      code.write(DW_IMAGE);
+      putVarint(code, string(label));
+      putVarint(code, string(value));
+    }
+  }
+  //-----------------------------------------
+  public void close() throws IOException
+  {
+    try (OutputStream out = new BufferedOutputStream(
+                        new FileOutputStream(fileName), 1 << 16))
+    {
+      out.write(MAGIC);
+      writeSection(out, SYMBOLS, symbolIndex.size(), symbols);
+      writeSection(out, STRINGS, stringIndex.size(), strings);
+      writeSection(out, LINES, lineCount, lines);
+      writeSection(out, CODE, entryCount, code);
+    }
+  }
+  //-----------------------------------------
+  private void writeSection(OutputStream out, int tag,
+                  int count, ByteArrayOutputStream contents)
+                                        throws IOException
+  {
+    ByteArrayOutputStream head = new ByteArrayOutputStream();
+    putVarint(head, count);
+    out.write(tag);
+    ByteArrayOutputStream length = new ByteArrayOutputStream();
+    putVarint(length, head.size() + contents.size());
+    length.writeTo(out);
+    head.writeTo(out);
+    contents.writeTo(out);
+  }
+  //-----------------------------------------
+  private int symbol(String name)
+  {
+    Integer index = symbolIndex.get(name);
+    if (index == null)
+    {
+      index = symbolIndex.size();
+      symbolIndex.put(name, index);
+      putBytes(symbols, name);
+    }
+    return index;
+  }
+  //-----------------------------------------
+  private int string(String s)
+  {
+    Integer index = stringIndex.get(s);
+    if (index == null)
+    {
+      index = stringIndex.size();
+      stringIndex.put(s, index);
+      putBytes(strings, s);
+    }
+    return index;
+  }
+  //-----------------------------------------
+  // True if image is the decimal form Integer.toString
+  // gives a 16-bit value.
+  //
+  private static boolean isWord(String image)
+  {
+    if (image.isEmpty() || image.length() > 6 ||
+        !image.matches("-?[0-9]+"))
+      return false;
+    int v = Integer.parseInt(image);
+    return S3Expr.fits(v) && Integer.toString(v).equals(image);
+  }
+  //-----------------------------------------
+  private static void putBytes(ByteArrayOutputStream out,
+                                                 String s)
+  {
+    byte[] b = s.getBytes(StandardCharsets.UTF_8);
+    putVarint(out, b.length);
+    out.write(b, 0, b.length);
+  }
+  //-----------------------------------------
+  static int zigzag(int v)
+  {
+    return (v << 1) ^ (v >> 31);
+  }
+  //-----------------------------------------
+  static void putVarint(ByteArrayOutputStream out, int v)
+  {
+    while ((v & ~0x7f) != 0)
+    {
+      out.write(v & 0x7f | 0x80);
+      v >>>= 7;
+    }
+    out.write(v);
+  }
+}                                   // end of S3ObjectWriter
+//======================================================
+// Reads an object file written by S3ObjectWriter and
+// writes the instructions and dw lines it holds, laid
+// out as in the .a file, to standard output; the .a
+// file less its comment and blank lines should match.
+// With -lines, a comment giving the source line goes
+// before the first instruction of each line.
+//
+//   java S3ObjectReader [-lines] <base name>
+//
+class S3ObjectReader implements S3Constants
+{
+  private ByteBuffer in;
+  private String[] symbol;
+  private String[] string;
+  private int[] lineStart;     // instruction numbers
+  private int[] lineNumber;    //   and their lines
+  //-----------------------------------------
+  public static void main(String[] args) throws
+                                             IOException
+  {
+    boolean showLines = args.length == 2 &&
+                        args[0].equals("-lines");
+    if (args.length != (showLines ? 2 : 1))
+    {
+      System.err.println(
+                "Usage: java S3ObjectReader [-lines] <base>");
+      System.exit(1);
+    }
+
+    S3ObjectReader reader = new S3ObjectReader(
+        Files.readAllBytes(Paths.get(args[args.length - 1]
+                                               + ".o")));
+    S3AsmWriter out = new S3AsmWriter(
+                 Channels.newChannel(System.out), 1 << 16);
+    reader.write(out, showLines);
+    out.close();
+  }
+  //-----------------------------------------
+  // Read the sections before CODE; in is left at the
+  // start of CODE.
+  //
+  public S3ObjectReader(byte[] bytes)
+  {
+    in = ByteBuffer.wrap(bytes);
+    for (byte b : S3ObjectWriter.MAGIC)
+      if (!in.hasRemaining() || in.get() != b)
+        throw new IllegalArgumentException(
+                                    "not an S3 object file");
+
+    while (true)
+    {
+      int tag = in.get();
+      int length = getVarint();
+      int end = in.position() + length;
+      if (tag == S3ObjectWriter.CODE)
+        return;
+
+      int count = getVarint();
+      switch (tag)
+      {
+        case S3ObjectWriter.SYMBOLS:
+          symbol = new String[count];
+          for (int i = 0; i < count; i++)
+            symbol[i] = getString();
+          break;
+        case S3ObjectWriter.STRINGS:
+          string = new String[count];
+          for (int i = 0; i < count; i++)
+            string[i] = getString();
+          break;
+        case S3ObjectWriter.LINES:
+          lineStart = new int[count];
+          lineNumber = new int[count];
+          int instruction = 0;
+          int line = 0;
+          for (int i = 0; i < count; i++)
+          {
+            instruction += getVarint();
+            line += unzigzag(getVarint());
+            lineStart[i] = instruction;
+            lineNumber[i] = line;
+          }
+          break;
+      }
+      in.position(end);        // skip any unknown section
+    }
+  }
+  //-----------------------------------------
+  public void write(S3AsmWriter out, boolean showLines)
+  {
+    int count = getVarint();
+    int instruction = 0;
+    int nextLine = 0;
+    for (int i = 0; i < count; i++)
+    {
+      int code = in.get();
+      if (code < S3ObjectWriter.DW_NUMBER)
+      {
+        if (showLines && nextLine < lineStart.length &&
+            lineStart[nextLine] == instruction)
+        {
+          out.print("; line " + lineNumber[nextLine++]);
+          out.newLine();
+        }
+        instruction++;
+      }
+
+      int op = code + PC;
+      switch (code)
+      {
+        case S3ObjectWriter.PC_CHAR:
+          int c = getVarint();
+          out.printInstruction(mnemonic[PC - PC],
+                            c == '\n' ? "'\\n'" : "'" + (char)c + "'");
+          break;
+        case S3ObjectWriter.IMAGE:
+          op = in.get() + PC;
+          out.printInstruction(mnemonic[op - PC],
+                               string[getVarint()]);
+          break;
+        case S3ObjectWriter.DW_NUMBER:
+          out.printDw(symbol[getVarint()],
+                      Integer.toString(unzigzag(getVarint())));
+          break;
+        case S3ObjectWriter.DW_STRING:
+          String label = "^" + symbol[getVarint()];
+          out.printDw(label, "\"" + string[getVarint()] + "\"");
+          break;
+        case S3ObjectWriter.DW_IMAGE:
+          label = string[getVarint()];
+          out.printDw(label, string[getVarint()]);
+          break;
+        default:
+          String opnd = null;
+          if (op == PC || op == P)
+            opnd = symbol[getVarint()];
+          else if (op == PWC)
+            opnd = Integer.toString(unzigzag(getVarint()));
+          out.printInstruction(mnemonic[op - PC], opnd);
+      }
+    }
+  }
+  //-----------------------------------------
+  private String getString()
+  {
+    int length = getVarint();
+    String s = new String(in.array(), in.position(), length,
+                          StandardCharsets.UTF_8);
+    in.position(in.position() + length);
+    return s;
+  }
+  //-----------------------------------------
+  private int getVarint()
+  {
+    int v = 0;
+    for (int shift = 0; ; shift += 7)
+    {
+      int b = in.get();
+      v |= (b & 0x7f) << shift;
+      if (b >= 0)
+        return v;
+    }
+  }
+  //-----------------------------------------
+  private static int unzigzag(int v)
+  {
+    return (v >>> 1) ^ -(v & 1);
+  }
+}                                   // end of S3ObjectReader
+//======================================================
+// Compile server.  It keeps the compiler loaded (and
+// warmed up by the JIT) and takes compile requests on a
+// Unix-domain socket, each connection on a thread of
+// its own.  A connection carries any number of
+// requests, one after another:
+//
+//   request:   options (writeUTF, e.g. "-O"), source
+//              length (writeInt), source bytes
+//   response:  true if no error (writeBoolean), error
+//              message or "" (writeUTF), .a length
+//              (writeInt), .a bytes
+//
+// The .a text is what java S3 -mmap with the same
+// options would write.  -obj and -batch are not taken.
+//
+//   java S3Server <socket path>
+//
+class S3Server
+{
+  static final int MAX_SOURCE = 64 << 20;  // bytes per request
+  private static final int MAX_PRESIZE = 16 << 20;
+
+  private static S3Dfa sharedDfa;    // made by first -dfa
+  //-----------------------------------------
+  public static void main(String[] args) throws
+                                             IOException
+  {
+    if (args.length != 1)
+    {
+      System.err.println("Usage: java S3Server <socket path>");
+      System.exit(1);
+    }
+    System.out.println("S3 compiler written by Marc Gagliardo");
+
+    Path path = Paths.get(args[0]);
+    Files.deleteIfExists(path);
+    ServerSocketChannel server =
+            ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+    server.bind(UnixDomainSocketAddress.of(path));
+    System.out.println("Listening on " + path);
+
+    while (true)
+    {
+      SocketChannel client = server.accept();
+      Thread thread = new Thread(() -> serve(client),
+                                 "S3 connection");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+  //-----------------------------------------
+  // Answer requests on channel until the client closes
+  // it.
+  //
+  private static void serve(SocketChannel channel)
+  {
+    try (SocketChannel c = channel)
+    {
+      DataInputStream in = new DataInputStream(
+           new BufferedInputStream(Channels.newInputStream(c)));
+      DataOutputStream out = new DataOutputStream(
+         new BufferedOutputStream(Channels.newOutputStream(c),
+                                  1 << 16));
+      while (true)
+      {
+        String optionText;
+        try
+        {
+          optionText = in.readUTF();
+        }
+        catch (EOFException e)
+        {
+          return;
+        }
+        // the length comes from the client; after a bad
+        // one the stream cannot be trusted, so the error is
+        // sent and the connection closed
+        int length = in.readInt();
+        if (length < 0 || length > MAX_SOURCE)
+        {
+          respond(out, "Source length " + length +
+                  " is not in 0.." + MAX_SOURCE,
+                  new ByteArrayOutputStream());
+          return;
+        }
+        byte[] source = new byte[length];
+        in.readFully(source);
+
+        ByteArrayOutputStream asm = new ByteArrayOutputStream(
+                   (int)Math.min(8L * length + 256, MAX_PRESIZE));
+        respond(out, compile(optionText, source, asm), asm);
+      }
+    }
+    catch (IOException e)
+    {
+      System.err.println(e);
+    }
+  }
+  //-----------------------------------------
+  private static void respond(DataOutputStream out,
+                              String error,
+                              ByteArrayOutputStream asm)
+                                        throws IOException
+  {
+    out.writeBoolean(error == null);
+    out.writeUTF(error == null ? "" : error);
+    out.writeInt(asm.size());
+    asm.writeTo(out);
+    out.flush();
+  }
+  //-----------------------------------------
+  // Compile source with the options in optionText,
+  // writing the .a text to asm.  Return the error
+  // message, or null.
+  //
+  static String compile(String optionText, byte[] source,
+                        ByteArrayOutputStream asm)
+  {
+    S3Options options = new S3Options();
+    for (String option : optionText.trim().split(" +"))
+      if (!option.isEmpty() && (!options.set(option) ||
+                                options.object || options.batch))
+        return "Unknown option " + option;
+
+    // as on the command line, only -dfa lexes with a DFA
+    S3Dfa dfa = options.useDfa ? getDfa() : null;
+    ByteBuffer buffer = ByteBuffer.wrap(source);
+    S3TokenFeed feed = null;
+    if (options.parallel)
+      feed = new S3ParallelLexer(buffer, dfa,
+                                 ForkJoinPool.commonPool());
+    else if (options.pipeline)
+      feed = new S3PipelineLexer(
+                new S3MappedReader(buffer.duplicate()), dfa);
+    try
+    {
+      S3AsmWriter asmFile = new S3AsmWriter(
+                              Channels.newChannel(asm), 1 << 16);
+      if (options.pipeline)
+        asmFile.startWriter();
+      return S3.translate(new S3MappedReader(buffer.duplicate()),
+                          feed, asmFile, null, options, dfa);
+    }
+    catch (IOException | UncheckedIOException e)
+    {
+      return e.toString();
+    }
+  }
+  //-----------------------------------------
+  private static synchronized S3Dfa getDfa()
+  {
+    if (sharedDfa == null)
+      sharedDfa = S3TokenMgr.makeDfa();
+    return sharedDfa;
+  }
+}                                         // end of S3Server
+//======================================================
+// Client of S3Server.  Sends each base.s to the server
+// and writes the .a text it gets back to base.a, and
+// any error message to standard error.  Options other
+// than -repeat are passed on to the server.  With
+// -repeat n, each file is compiled n times and the
+// median and 99th percentile times per compile are
+// reported.
+//
+//   java S3Client <socket path> [-repeat n] [options]
+//                 <base>...
+//
+class S3Client
+{
+  public static void main(String[] args) throws
+                                             IOException
+  {
+    if (args.length < 2)
+    {
+      System.err.println("Usage: java S3Client <socket path> " +
+                         "[-repeat n] [options] <base>...");
+      System.exit(1);
+    }
+
+    int repeat = 1;
+    StringBuilder options = new StringBuilder();
+    ArrayList<String> bases = new ArrayList<String>();
+    for (int k = 1; k < args.length; k++)
+      if (args[k].equals("-repeat") && k + 1 < args.length)
+        repeat = Integer.parseInt(args[++k]);
+      else if (args[k].startsWith("-"))
+        options.append(args[k]).append(' ');
+      else
+        bases.add(args[k]);
+
+    boolean failed = false;
+    long[] times = new long[bases.size() * repeat];
+    int timed = 0;
+    try (SocketChannel channel = SocketChannel.open(
+                         UnixDomainSocketAddress.of(args[0])))
+    {
+      DataInputStream in = new DataInputStream(
+           new BufferedInputStream(
+                    Channels.newInputStream(channel), 1 << 16));
+      DataOutputStream out = new DataOutputStream(
+           new BufferedOutputStream(
+                    Channels.newOutputStream(channel), 1 << 16));
+
+      for (String base : bases)
+      {
+        byte[] source = Files.readAllBytes(Paths.get(base + ".s"));
+        boolean ok = true;
+        String error = null;
+        byte[] asm = null;
+        for (int r = 0; r < repeat; r++)
+        {
+          long start = System.nanoTime();
+          out.writeUTF(options.toString());
+          out.writeInt(source.length);
+          out.write(source);
+          out.flush();
+          ok = in.readBoolean();
+          error = in.readUTF();
+          asm = new byte[in.readInt()];
+          in.readFully(asm);
+          times[timed++] = System.nanoTime() - start;
+        }
+
+        Files.write(Paths.get(base + ".a"), asm);
+        if (!ok)
+        {
+          failed = true;
+          System.err.println(base + ": " + error);
+        }
+      }
+    }
+
+    if (repeat > 1)
+    {
+      Arrays.sort(times);
+      System.out.println(String.format(
+          "%d compiles, p50 %.3f ms, p99 %.3f ms", timed,
+          times[(timed - 1) / 2] / 1e6,
+          times[(int)Math.ceil(0.99 * timed) - 1] / 1e6));
+    }
+    System.exit(failed ? 1 : 0);
+  }
+}                                         // end of S3Client
+//======================================================
+// The compiler as a reusable object, for programs that
+// compile many sources in memory.  An S3Compiler holds
+// one of each component (reader, token manager, parser,
+// code generator, symbol table, output writer) and
+// resets them between compiles, so the arrays they have
+// grown are reused.  Instances come from a pool:
+//
+//   S3Compiler compiler = S3Compiler.get(options);
+//   String error = compiler.compile(source, out);
+//   compiler.release();
+//
+// Only -O, -dfa, and the token trace setting (debug)
+// are taken from the options, and each combination has
+// its own pool.  The output is what java S3 writes to
+// the .a file for the same source.  An instance must
+// not be used by two threads at once.
+//
+class S3Compiler
+{
+  // released instances, by pool()
+  private static final ArrayList<ConcurrentLinkedQueue<S3Compiler>>
+      pools = new ArrayList<ConcurrentLinkedQueue<S3Compiler>>();
+  static
+  {
+    for (int k = 0; k < 8; k++)
+      pools.add(new ConcurrentLinkedQueue<S3Compiler>());
+  }
+
+  private S3Options options;
+  private S3CharSequenceReader reader;
+  private S3ByteSink sink;
+  private S3AsmWriter asmFile;
+  private S3SymTab st;
+  private S3CodeGen cg;
+  private PrintWriter outFile;
+  private S3TokenMgr tm;
+  private S3Parser parser;     // made by the first compile
+  private CharsetDecoder decoder;
+  private CharBuffer chars;
+  //-----------------------------------------
+  // Return a pooled compiler for options, or a new one
+  // if none is free.
+  //
+  public static S3Compiler get(S3Options options)
+  {
+    S3Compiler compiler = pools.get(pool(options)).poll();
+    return compiler != null ? compiler : new S3Compiler(options);
+  }
+  //-----------------------------------------
+  // Give this compiler back to the pool.
+  //
+  public void release()
+  {
+    pools.get(pool(options)).add(this);
+  }
+  //-----------------------------------------
+  private static int pool(S3Options options)
+  {
+    return (options.debug ? 4 : 0) + (options.optimize ? 2 : 0) +
+           (options.useDfa ? 1 : 0);
+  }
+  //-----------------------------------------
+  public S3Compiler(S3Options options)
+  {
+    this.options = new S3Options();
+    this.options.optimize = options.optimize;
+    this.options.useDfa = options.useDfa;
+    this.options.debug = options.debug;
+
+    reader = new S3CharSequenceReader("");
+    sink = new S3ByteSink();
+    asmFile = new S3AsmWriter(sink, 1 << 16);
+    st = new S3SymTab();
+    cg = new S3CodeGen(asmFile, st);
+    cg.setOptimizing(options.optimize);
+    outFile = new PrintWriter(cg.getTextWriter());
+    tm = new S3TokenMgr(reader, outFile, options.debug);
+    if (options.useDfa)
+      tm.setDfa(S3TokenMgr.makeDfa());
+    decoder = Charset.defaultCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    chars = CharBuffer.allocate(1 << 12);
+  }
+  //-----------------------------------------
+  // Compile source, appending the .a text to out.
+  // Return the error message, or null.
+  //
+  public String compile(CharSequence source, Appendable out)
+                                        throws IOException
+  {
+    String error = translate(source);
+    ByteBuffer in = ByteBuffer.wrap(sink.getBytes(), 0,
+                                    sink.size());
+    decoder.reset();
+    CoderResult result;
+    do
+    {
+      result = decoder.decode(in, chars, true);
+      if (result.isUnderflow())
+        result = decoder.flush(chars);
+      chars.flip();
+      out.append(chars);
+      chars.clear();
+    } while (result.isOverflow());
+    return error;
+  }
+  //-----------------------------------------
+  // Compile source, putting the bytes of the .a file
+  // into out.  Return the error message, or null.
+  // Throws BufferOverflowException if out has too
+  // little room.
+  //
+  public String compile(CharSequence source, ByteBuffer out)
+  {
+    String error;
+    try
+    {
+      error = translate(source);
+    }
+    catch (IOException e)
+    {
+      throw new UncheckedIOException(e);
+    }
+    out.put(sink.getBytes(), 0, sink.size());
+    return error;
+  }
+  //-----------------------------------------
+  // Compile source into sink.
+  //
+  private String translate(CharSequence source)
+                                        throws IOException
+  {
+    reader.reset(source);
+    sink.reset();
+    st.clear();
+    cg.reset();
+    tm.reset();
+
+    // identify compiler/author in the output file
+    outFile.println("; from S3 compiler written by Marc Gagliardo");
+
+    if (parser == null)
+      parser = new S3Parser(st, tm, cg);
+    else
+      parser.reset();
+
+    String error = null;
+    try
+    {
+      parser.parse();
+    }
+    catch (RuntimeException e)
+    {
+      error = e.getMessage();
+      outFile.println(error);
+    }
+    outFile.flush();
+    cg.finish();
+    return error;
+  }
+}                                       // end of S3Compiler
+//======================================================
+// Channel that keeps what is written to it in a byte
+// array, which grows as needed and is reused after
+// reset().
+//
+class S3ByteSink implements WritableByteChannel
+{
+  private byte[] bytes = new byte[1 << 16];
+  private int size;
+  //-----------------------------------------
+  public int write(ByteBuffer src)
+  {
+    int n = src.remaining();
+    if (size + n > bytes.length)
+      bytes = Arrays.copyOf(bytes,
+                            Math.max(2 * bytes.length, size + n));
+    src.get(bytes, size, n);
+    size += n;
+    return n;
+  }
+  //-----------------------------------------
+  public byte[] getBytes()
+  {
+    return bytes;
+  }
+  //-----------------------------------------
+  public int size()
+  {
+    return size;
+  }
+  //-----------------------------------------
+  public void reset()
+  {
+    size = 0;
+  }
+  //-----------------------------------------
+  public boolean isOpen()
+  {
+    return true;
+  }
+  //-----------------------------------------
+  public void close()
+  {
+  }
+}                                       // end of S3ByteSink
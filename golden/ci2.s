@@ -0,0 +1,210 @@
+a = 4107; println(a); print(a); println(-7 / 2);
+{ b = a * 3 - +2; ; println(b / (a - 4100)); }
+c = (a + b) * (a - b) / -3; println(c);
+v0 = 18;
+v1 = 73;
+v2 = 98;
+v3 = 9;
+v4 = 33;
+v5 = 16;
+v3 = +13 + (v4 - (v0 * v4) * ((v3 * v5 - v0 / 9) * -18 * v5 + v4 / 9 - 30 - v1 * (v2 + v4 * v3 + v4 * v1 * v1 + v2 * v5 * v0)) - ((v5 / 9 * v0 - v1 * v3 * v4 - v0 + v1) * (v5) / 8) * v4 + v0) - 17 * +31 * v3 - v1 * (38 / 1 + v0 / 8 * (40 * v5 * (v5 * v1 / 1 + v2 * v2 + v0 / 8 * v5)));
+v2 = v4 / 4 * (v4 * +18) + ((21 * (v4 / 9 + v0 + v4 - v4 / 6 * v1) + 20 - v1 - v4 * -5) * v4) / 2;
+v2 = v5;
+v0 = v4 * -15 + v3 / 5 * (v1 * v2 * v3 - v2 / 2 * ((v5 * v4 - v2) * (v4 * v2 * v4 + v4 * v1 * v3 + v0 * v2 * v3) + +4 / 3 * v1) - v5 / 5 * v4);
+v0 = ((-35 / 4 * v1) / 4 * v3 - -29 - (v3 + v2 * v2 / 5 - 39 + 33 * +40) * v5 * v3 - -17 * ((v2 - v2 * v5 * v0) / 7 * v1) * v5) * (33 + v0 + v1 / 7) + (v4 / 2 - ((v3 * v4 * v5 - v2) * v2 / 8 - 13 / 4 * v0) + -8 - +27 * (v0 * v4 - (v3 - v0 * v5 + v3 / 7 / 5 + v5 * v5 * v3) / 2 - (v5 * v5 - v1) * (v3 * v2 * v0 + v3 - v3) * (v0 * v2 + v2 * v4) - -3) * ((v2 * v3 * v4 + v4 * v4 * v1 - v5 * v3 * v1) / 8 * v1 - v3 + (v2) - v0)) + (v1 * ((v4 * v0 + v1 * v1) - +13 * v4 + (v0) * v4) * v1 + v1 * +8 * (v0)) / 1 / 2 - v0 * (((v3 * v5 + v4) * (v0 * v5 + v5 * v2 * v0 + v0 + v4 * v2)));
+v1 = (((v5 * v2 * v3) * (v3 + v1 * v2 * v4 - v5 * v4) * +10 - v2) * 19 - v2 * (-7 - (v3 * v5 + v0 + v4 * v5 - v5 * v2) * v2 * 11 - (v0 * v1 * v4)) + 32 * v3) / 4 / 8 - +34;
+v5 = v2 * ((+4 * -37 + v3 + (v5) * (v4 * v4 * v4 - v1 * v1 * v3 + v3 / 1 + v0 * v2) - (v0 * v0 - v1 * v3 * v5) * v3) - (v1 + (v1 * v5 + v4) * v0 / 2) * v5 * ((v5 + v0 * v3 / 2) / 2 * -12 - v4 / 9) + (+6 - v5 * (v4 * v1 - v4 * v4 / 9) + (v3 * v3 * v2 + v4 * v4 * v5)) * 8 + (v5 / 1 * (v1 * v3 * v2 + v2 * v2 * v0)) * v1);
+v0 = (v2 + v0 - v5 * v2 * +7) / 3 - v4 * +34 / 5 + -8;
+v0 = v1 * v4 - +6 * (-35 * -19 * v0 + +23 * (v3 * +18)) * v5 + v4;
+print(+17 * 6 + -0 + -32 * (-22 / 4 + +10) + (v5 * 39 - v2 * (-9 + (v5 * v5 * v3 - v1 * v2) * (v3 * v5 - v4) - (v1 - v0 * v3 * v2 + v4 - v3 * v1 * v0) / 7 / 3) - (v4 / 3 * v1 + (v5) - (v5 + v5 * v0 + v2 * v4 + v5 * v4) * (v1 / 6 - v1 * v2 / 5) - v3 * v1) * v4 + -15 * -12 * (v5)) * v1 * v4);
+v1 = (v1 * v5 / 4 + v4 * (v3 + +16 * (v1 / 2 / 4 - v5) / 7 + (v5)) - (17 + (v5 * v5 + v3) * (v2))) * ((v1 * (v2 - v4) * v0 + (v3) * (v4 * v2 * v4 + v4 * v4 * v0 - v4 + v4) * v2) * v0 * -28 + ((v1 * v2 / 7 - v4 * v5 + v2 * v4)) * (v0 - v0 * v4 - (v1 * v2 / 3) / 1) * v5 + (v4 * (v1) * (v5 * v2 - v4 * v5 * v0 + v4 + v0 / 1 / 4) - v3 * v5 * 39) / 7) * v3;
+v5 = -39 / 6 + 32 / 9 - -36 * v2;
+v4 = v3 * v0 * v3 - v3 - ((+27) / 1 + v0 * 13 + v5 * (v3 * v5 * v4 - v3 / 2 / 7 + -15 * (v4 - v5 * v5 * v3 - v4 * v4) * (v3 + v0 * v5 * v2 - v1)) * -10) - ((v0 * (v0) * v0) * v2 * 11 - (v4 * v3 * -40));
+v2 = (v2 * (v0 * v4 * v1 + v0 * v5 * v2) * ((v1 * v5 - v1 / 3 + v3 * v2 - v2 * v4) + v2 * -9 * 8 + v4 * 17) - v1 * v0 / 6 + (2 / 6 * v2 - (v3 + v2 * v0 + v5 * v1 * v2) + v2 * (v4 / 8 + v2 - v2 + v1) * 3) * v5 + v5 * v4 * ((v1 / 9) - 31 - (v5 * v4) * (v5 / 1 / 6 - v2 / 7))) + 7 * +22 - -16 * v0 * -12;
+v3 = v3 * (v5) * +20 - v3 * (-37 * ((v5 * v0 * v1 + v0 * v1) * v1 / 1 + +29 - v1 * (v4 * v3 - v4 / 4 * v0 - v3 * v4 / 8 - v1) + (v3 - v3 / 1 * v4 - v2 * v4 - v0 * v4 * v3) / 2) + (v3 * v3 - +9 / 4 + (v3 / 2 * v3 - v2 * v3) * v4 - v2) - v1 * v2 - (-35 * -37 * v5 + v4 + v2 * v0 * v4 - v2) * ((v3 / 6 * v1 + v2 * v0) * v3 + -11 * v4)) / 9;
+v1 = v1 * (v4 * v2 * ((v0 * v5 - v5 + v4 + v1 / 6) - v3 + v0 * v4 * (v0 * v4 - v2 * v3 * v1 + v1 + v3 * v0) + v4)) * (v1 * v3 * 32 + (-3 * (v0 / 1 + v0 * v4 - v4 * v5 * v4) + (v3 * v1 * v2) - v1 + v3) - 36 * v0 + v4 * v2) - +32 - -37 - -25 * (+30 * v1 * (v2 / 5 + v1 / 8 - (v4 * v4 - v0 * v5) * 6 * -36) + -21 / 1 * v0 + v4 * v4 + v1) * ((v4 + v4 * (v2 * v0 + v0 / 7 / 7) - (v1 + v0 * v1)) * ((v3 * v4 * v5 + v5 * v3 * v1 + v5) * v4 + v3 * -38 * +35 - (v3 + v3 * v4 * v2 + v1 * v5 / 1 + v3 * v0) * v3) - 32);
+v0 = v0;
+v0 = v0 * v0 - v4 * ((v5 / 4 + (v5 - v2 * v3 * v1 + v1) * v4 + v5)) - v0 / 4 * v5;
+v0 = v1 - v1 * v0 + v4 * v2 * v0 - v0 * v1;
+println(v1 / 1 * (+11 / 1 * v1 + +12 * v2 - (-29 * (v1 * v0 / 3 - v3 / 8 / 2))) - -2 + v3 / 1 - v4 * v0 * v5);
+v2 = v0 - ((v3 / 7 / 2 - +32 * (v3 / 6 + v4 + v4 / 2 * v3 + v3) * (v3 * v5)) / 9 + +19 * v5 * (v2 * v5 + v0) - v5 / 8) * (-5 * v0 * v3 + +15 - ((v3 * v1 * v1 + v4 * v1 / 5 - v0 / 7 * v2) * (v5 * v1 / 9 - v5 * v5) - +15 * (v4 + v0 * v2 - v1 * v3) + v0 * (v0 * v5 - v0 / 7) - v1 * v3 * (v4 * v2 - v4 * v1 + v3 * v5 * v2))) / 3 - v2 * 23 * v3 - +27 / 8 / 2;
+v0 = ((+11)) + (v4 * ((v3 - v5 * v0 * v0 - v5 - v0 * v3 * v0) / 8 / 2 - (v0 - v5 + v2 * v5 * v5 - v4 * v3) / 7 / 6 + -35 * (v4 * v5 * v2 - v0 / 2) / 2 - (v1 + v0 * v0 * v2)) * (v4 / 3 * 22 + v0 / 1 / 5 + 3 * v4 / 5 - v5) + -1 / 8 + ((v0 * v2 + v0) / 6 * v2 - v0 * 13 * (v2 + v3 - v0 * v3 + v2 / 6) - (v1 - v4 * v1 * v1) - (v2)) * v3) / 5 - (v2 * ((v3 * v0) - (v4) * +25) * v5 - v2 * (v1 / 9 - v2 * v2 * (v2 * v2 - v5 / 8) + (v0 * v0 * v3) * v0 * -27) / 4) * v5 * v5;
+v5 = 27 * v3 + v3 + v4 * v4 * v5 - (v1 / 8 / 7 + v0 * (v2 * v2) - v2 * v3 * +0 - v2) * v5 * -36;
+v1 = (((v4) / 7 * v1) * -16 * +15 - ((v2 * v5 + v0) + (v5 * v2 * v3) + (v2 * v4 - v2 * v2)) * v3 + +2 * v5) * (((v2 * v5 * v0) * v2 * (v3 + v1 * v1 * v2 - v1 * v1 + v5) + v4) - (v2 * v5 * v1) + 25 / 3 * (v0 * (v5 + v4 / 6 - v4 * v4) * v1)) * v3 + v4 * 3 + ((-29 * v1 * -13 + v5) * v1 * v5) * (v2 * v3 * v0 + ((v0 * v4 / 1 - v4 + v5 - v1 / 3) * v4 + 24 * v3 + (v1 - v2 / 9) + v4));
+v0 = ((26 * -8 * (v3 * v0 / 6) + +40 + v3 * v5) - v0 + (+2 * +4 + v3 * (v3 - v1 * v0 * v3 + v2)) / 4 * (v1 * (v1 + v0 * v0 / 1))) / 7 - (v2 * (v2 + (v0) / 1 / 4 + (v5 / 4 * v2 + v2 * v4)) - (-5 * (v4 + v3 * v1 * v2 - v2 * v4 * v3) - v0 * v2 - (v1 * v1 + v0 * v1 - v1 * v2) * v0 * v5) * -23 * v5) + v1 - 15;
+v4 = 9 * v4 * v5 + v3 * v0;
+v3 = v5 * v5 - (-7 / 1 * v1) * 13 / 4 - v3 * -13 - v5;
+v2 = (18 / 7 - v3 - v3 * -7 + (v3 - v4)) * v1 * -29 - 28 / 6 - (((v5 * v2 - v3 + v3 * v1 * v1 + v5) / 7 + v0 - +14 * v2 + v3 * v3) * (v1 * v0 * v0 - v2 * v5 * (v2 / 1 * v2 - v0 * v4 + v3) - v4 * v3 / 6) * (-20) - +40 * -18 * v3);
+v2 = (((v2 + v1 * v2 * v2 + v3 * v5 * v1) / 3 * v5 + (v1 * v3 - v5 * v5 - v3 + v2 * v1 / 8) / 1 * v1) * ((v2) / 7 / 2));
+println(13 * v2 + v2);
+v2 = 0 * v4 * v5 - (+39 * (18) + (v1 * (v3 * v2) + (v4 * v1 * v1 + v1 / 5 + v1 / 9)) * (v3 * v3 * +30 - v3 / 4 * (v1 * v5 - v1 - v0) - v3 * -38 - v1 * (v5 + v0 * v5 * v2 - v2 + v1 * v5 * v2) * v4) - (-7 + v1 - v3 * (v4 / 6 - v2 / 1 + v2)) / 9 * v2) * -32 * +16;
+v1 = (+26 * (v1 / 3 * v1 + v0 * (v4 * v5 * v5 - v2 * v4 * v1 - v1 * v1 + v3 * v5 / 8) - -18 / 2) * v0 - 11 * (v5 * v2 * v2 - +20 * v1 * v5 - v4 * v3 - +9 * (v1 * v4 + v5 * v0 - v2 * v0) * 20) * (v2 - (v3) - v5 * v0 + v4 * v2)) * v2 + (v2) / 5 * (v3 * v1 + v3 / 8 + v1 - ((v5 * v0 * v5 - v3 * v2 + v5 * v2 + v0 * v2) * +34) * ((v1 * v4 + v5 * v0 * v4) * v3 * (v5 * v3 + v3 / 6 - v1 / 1 + v1 * v2 * v3)) * 25) + v1 * v2 * -36;
+v4 = v1 * (v0 - (+33 + (v2 / 1 * v0 - v4 * v2) / 2 - v2 / 9 - -1) / 4 + v0 * 9 * (v5 * (v1) - +38 / 1 - 12) - v1 * (+11 / 7)) / 6 + v4 / 8 * (((v2 + v5)) * -7) + (((v1 / 1 - v4 + v3 * v0 - v1 * v0) + v1 + v1) * (-31 * v2) * v1 - v4 / 4 * v5 - 7 / 6 / 9 - ((v0 + v1 + v3 + v2 * v3 / 2) - +13 * v2 * -2 - v0 * (v2 * v1 * v1 - v2 - v2) * (v1 / 2 / 1 + v4 * v5 * v4 + v1 * v2 - v0 * v5 / 5))) * v1;
+v0 = v5 * v0;
+v2 = (-21 * ((v3 - v5) + 6) + (v4 * (v1 / 7) * (v5 * v3 - v3 * v5 / 9 - v1 * v3 + v5)) - v4 - v5) * v2 * (-26 * 6 - (v4 * v2 * v4 - (v0 * v0 + v2 - v0 * v0) + -31 * v2) * 40 * (14 * v0 / 7) + v3 / 2 * +13) - v2 + v1 * v3 * 4 - (-19 * v3 * v0 - 31 * 20 * v4) * (v3 * v1 * v5 - 5 + (v5 + 19 * (v2 * v4 + v0 + v1 * v1 - v4) * v1) / 4 * v4);
+v2 = v4 * (((v5 + v2 * v5 + v1 * v2 * v3 - v1 / 8) / 8 + v4 - v0 / 9) * v1) * 27 - 24 / 5 * (v1 * 4 + v3 * 25 * (v0 / 3 - (v5 / 5 * v3 - v2 * v5 - v1 * v1 * v4 - v2) * v0)) + (v4 * (7 + v4 * (v1 * v1) / 1 - v3 * (v2 - v4 * v3 + v0 * v5 + v4) - v2 * (v3 * v0 * v2 + v0 - v2 + v3 * v4) * -8) * (v1 / 9 - +1 * (v3 - v4 * v0 * v2 - v0) - v0 * (v5 * v3 / 8 + v0 - v0 + v5 / 5) - v3) - ((v2 + v4 / 9 * v3 + v2 * v5) * (v1 - v1 * v3 + v0 * v1 * v5 + v0 * v4 * v4) * v5 - -21 * v3 * (v5 * v1) - (v0 * v1) * (v0 * v0 * v5 + v3 * v5 * v3) * (v1) + v2 * (v3 + v0 * v4)) - 20 * +35) - (22 * v3 * (v3 / 3 * v3 + (v2 * v1 * v1) * v0 * v1 + v3 * (v0 * v0 * v5 + v0 / 9 * v3 - v4 * v0)) + (v0) + (v3 * -13 * (v1 / 2 * v0 - v1 / 3 * v5 - v2 / 5 / 3 + v1 / 3 * v4)));
+v2 = (v4 * v3 * (v2 * v1) + 9 * -31 + (-11 / 2 / 2) * v5 * v4 - ((v1 * v0 + v3 * v5 / 6 - v4 * v4) * (v5 * v2 + v3 * v4 - v3 - v5 * v1) / 7)) / 8 * +20 + (12 * (v2 + (v0 * v4 / 2 + v4 + v5 * v4 + v3) + (v4 / 6 + v4 * v2 * v4 + v3 - v0) * v5 * -10) + v5 * v5 + 31 * ((v5 * v3) * v5 + (v1 * v0 * v1 + v5 * v4 - v3 + v5 * v3 * v0) * (v1 * v0) + (v3 * v0 * v1 + v3) * (v4 * v4 + v1) * (v2 * v1 + v5 * v4 * v1 + v2) + v0 * (v1 * v3 * v2 - v4 * v3 / 6)) + (v5 - v4 / 9 + v0)) * v2 * v1;
+v4 = v2 * v5 * v1;
+v3 = v1 / 2;
+println(v5);
+v5 = v1 * v2 * v4 - v3 * v2 * (v1 * ((v4 * v4 - v0) * (v1) + (v1 / 4 - v5 * v1 * v2 + v3 * v0) * v3 * v3 - -12 * -11) * +0);
+v5 = (v1 * 30 * +32 - v0 * (+30 + v5 / 7) + ((v2 * v4 * v5 - v3 * v4 - v3)) / 7 - v5 * (v4 * (v1 * v2) - (v1 / 3 + v5 - v1 * v1 * v1) * (v4 - v1))) / 2 * -17 + (((v3 * v2 * v4 + v1 * v5 + v2 / 5 - v5 * v4 * v5) + v4 / 4 * (v0 * v2) + 2 * (v1 + v4 * v5 * v0) * v1 + (v0 * v0 / 6 - v2 * v5 * v4 + v1 * v4 - v4) / 7 * -0)) * v5 * v1;
+v5 = (v1 - v0 - ((v5 * v2 + v4 * v0 * v1) * v4 - (v1 * v5 / 5 + v0 * v4 * v0 + v2) * v2 * v4 + (v5 - v0 * v1 - v5 / 9 / 7 - v3)) * v0 / 1 - ((v2 * v1 * v1 + v3 * v4 + v2 * v5 * v2 + v4 * v4 * v4) - (v2 / 8 + v2 - v0 * v0) * v5 * +21 - v2 * (v3 * v3 + v4 * v3 * v1 + v3 * v5 + v1 / 1) - v2 * (v5 - v1 - v3) * (v5 + v5))) / 6 + -13;
+v0 = (v1 * 20 - v2 * (v0 / 3 * v4 + 27 / 6 + (v2 * v1) * (v3 / 5 - v0 * v0 - v1 * v3 * v1) * (v1 * v4 * v0 - v4)) - v5 + v5 * v5 * (+8 / 3 * (v0 * v5 - v5 * v5 * v4 + v4 * v4 * v0 - v2))) * (v4 / 1) * 0 - 40 - +36 / 6 * +30;
+v3 = v0 - v5 / 1 * v4;
+v3 = ((v5 * v4 * v2 - v1 * (v1 + v1 * v5 / 1) * +3) / 7 - v1);
+v5 = (v1 * v5 * v4 + v2 / 4 + v2 * v5 / 2 + (v2 - (v0 * v1 - v2 - v1 * v1 * v4 - v5 * v3) * (v4 * v0 * v3 + v5) - v4 / 3 * (v4 * v3 - v2) - (v5 * v2 + v3) * (v5 + v4 * v3 + v2 * v5 + v5)));
+v0 = (v2 * v2 + v3 + ((v0 - v4 - v0 * v5 - v2 / 7) + (v3 + v0 * v5 * v4 + v1 + v5 * v4 * v3) * (v1 + v0) + v5) * (v2 + 27)) * v0;
+v0 = -30 * (v2 * ((v2 - v2 * v0 * v2 - v2 * v4) * 35 / 5 - (v0 * v3 * v2 + v3 + v4 * v0) * v0 + +15 / 1 + (v3 * v5 * v5) / 1 * (v3 / 4 * v4 + v3)) * (+36 * (v4 * v1 * v0 + v3) - (v1 * v0 * v0 + v5 * v3 * v0 + v0) + v3)) - v1;
+println(v1 * (v1 / 8 / 8) * v3 - v1 * -20 / 3 + v4 * (v2 * -9));
+v3 = v0 * (-19) * ((v5 * v4 + (v0 + v0 * v4 - v5 * v4) * (v4 - v5 / 8 + v4 + v5 * v5) + v5 + (v3 + v3 + v3 * v3)) * 4 - v0) - v0 * -11 * (v5 / 7 * (-40) - 16) - (v5 * v4 * (v2) - (v2 * v4 + +7) + -37 * (-35 + v4) * (v2 * v1 / 1 + v1 * v4 * -32 - v1 * +8 * v0 + v4)) * 31 * v3 - v0 / 7;
+v1 = v1 + (v2 - v5) + v5;
+{ v2 = -24 + (-18 * -5 + v0) - (24 * (v1 + (v1 * v0 + v0 / 7 - v2 - v5) * (v2 - v5 * v5 * v1 + v2 * v1 * v0 + v3) - -16 * (v0 * v1 * v1 - v4 * v4 * v4 + v4 * v0 + v2) * v3) / 1 - v4 * ((v4 + v1 + v1 * v1 * v0) + v0 * v1 * 26 - -12)) * -19; v1 = 0 / 4 + (v4 * (v3 * v2 + v1 - v0 * v0 - v1) - v3 * v3 * v3) * v2; }
+v0 = v5 * -19 - (v1 * ((v5) * 22 + (v3) * v5) - v1 * ((v5 * v1 * v1 + v1 - v4) - +14 + v1 * v2 - v0)) * (v2 * v3 * (v3 * v5 + v3 * v4 - 23 - v1 * v4 * (v3 * v2 / 1 + v5 * v5 * v5))) - v3 * v1;
+v5 = v5 + v3 * v0 * (-6 - v2 * v3 * -13 - ((v5 * v2 + v4) / 5 - v1 * (v1 - v0 / 4 * v0) + v5 + 29 / 5));
+v1 = 38 * v3 + -8 + 37;
+v4 = -2 / 9 + v5;
+v5 = v4 * (v0 * v3 * (v0) - v5 / 6 - v2) - v5 * (v1 * v0 - v2 * -38 * v0 + (v2 * v1 * v2) * +12 - ((v5 + v4 * v2 * v0) * (v1 * v4 * v1 - v4 * v0 * v0) * (v2 / 6 * v5 + v1 * v4 * v1) - v1 / 6 / 9 - (v1 * v1 * v0) * v2) * v3 * -9) / 4;
+v5 = -39 * v4 / 6;
+print((v3 * v0 * ((v3 * v4 + v3 * v5) * 34 * (v2 * v0 / 2 - v0 * v0) + (v2 / 4 / 3 + v0 - v0 / 4 / 4 + v0 * v5) - v4) - v2 * 13 + (v0 / 3 * v2) + (v5) * (v4 * -14 * v5 + (v5 * v0 - v4 * v5 - v3 * v0 * v1 - v2) - v1) * v2) * v3 - v3 * v3 * (v4 - v1 * +39 * ((v5 + v0 - v0 * v2 + v4) - +26 * v2 - v4 * (v4 / 2 * v3 + v2 - v4 * v1 * v0)) + (v4 + v3 * v3 + (v1 - v5 * v5 * v4 + v1 * v3 * v4) + v5) / 9) + (+11) * v5 * v5);
+v5 = v4 + v1;
+v1 = ((+2 - -22 * (v1 / 8 * v2 + v3) * (v2 * v3 * v4) - (v5 * v4 + v1 / 5 - v2 + v1 / 3) / 2 / 8 - v4 * (v1 * v4 + v1 * v4 * v3) * (v1 - v1 * v0 * v0)) * ((v2 - v3 * v4 - v2) * (v2 + v5 + v4 / 4) + (v4 + v3 * v5 - v4 * v4 + v3) * v1 * v0 + v2 / 2 - -2 * (v3 - v2 * v1 + v4 * v3 * v0)) * +8 + v1) * 15 * -39 + (+37 * 11 * -7 + (v1 * v0 + v4 * v0 * v4 + v3 * -5 - (v1 * v0 * v1 - v4 * v4 / 7 + v5 * v1 - v5) / 3 * (v4 + v2 * v5)) * v5) * v1 + v5 * v0 + ((v0) / 3 * v3) * (((v4 * v0) * 20 + v1 * (v0 * v1 * v2 + v4 * v5 + v2 * v1 * v0 + v0 * v0 * v3)));
+v0 = ((v4 + v5 - v4 * v2 + v4 / 8) * ((v0 * v4 * v4) - +2 * -4) + v0 + 9 + v4) * v0 * v5 + v4;
+v1 = (v0 + v0 * (v2 * (v5 * v2 * v0 - v5 * v1 / 2 - v3 * v0 / 9) * (v1 + v2 - v5) - v2 * (v0 * v5 - v4 * v5 * v2) - (v2 - v0 * v2 * v1 + v0) * v0 / 4 - (v2 * v3 + v4 * v3 * v0 - v5 - v0 * v3) * v2)) * v4 * v0;
+v5 = (v3 * (v4 * (v0)) + +38 * v2 + +30 * +2 * v4 + v5) * +21 * v5 - v4 * (v1 / 8 * v3 - ((v3 * v0) * (v1 * v3) * (v1 / 8 * v2) + 30) / 4 - ((v3 - v3 * v2 + v1 / 3 * v2) * v5 + v5 - (v4 * v1 * v3 - v2) * (v3 * v2 - v5 * v1 + v3 + v0 * v1)) * v5 * +26 - ((v2 * v4 + v4 * v5 * v5 - v2 * v3 - v4 * v1 / 9) * (v2 + v3 * v5 + v5 * v5) + (v1) + v2 * +0 * +30) * -28 / 7) / 2 + +8 * v2 + v2;
+v0 = (v5 * ((v1 * v5 * v3 + v0 + v0) - 35 / 4 / 8 - v0 * (v2 * v5 + v1 * v4 + v2 / 7) + 30) / 3 - +14 / 7 / 5 + (v4 * (v1 / 9 * v0) * v4 + (v3 / 9 + v3) / 1 + (v5 + v3) * v0 * v2) * v3 * v2) * v5 + (v2 + v2) - v2 * (v0 / 5) / 1;
+v1 = v3 * -33;
+v3 = (((v0 / 7 * v2 + v3 * v4 - v3 / 3 + v5)) - v1 * -3 * (v4 * (v1 * v2 / 2 + v0 * v1 * v3) * v3 - v4 * (v3 + v3 * v3 * v3 - v5 * v1 + v2 * v0 * v5) + (v5 + v3 / 5 / 4)) - v1 + (v5 * v5 - 38 - (v1 + v1 / 8 - v0 * v5 * v0) * v1 + v0 * v1) * +31) / 8 * -26 - +35;
+;
+println(v4 * v1 - v5 * 11 - v1 + v4);
+v2 = v4 * (v3 - (v5 * (v0 - v1 / 6 / 9 - v1) - v4 * (v1 * v2 / 1 - v2 - v1 * v0 * v2 + v2 * v4) * v2) * v4) * v1 + v2;
+v3 = (16 * 10 / 3 - -31 * v0 - v0 - (v5) * v5 * v2);
+v1 = v0 / 7;
+v4 = (v2 * v3 + ((v0 * v3 + v2 * v4 / 1 - v5 + v5) * (v1 / 7 * v3 - v0))) * -16 + 0 * v0 * v0 - (-39 * v2 * -10 - (v3 * v2 * v1 + -12) * 5 * v2 + (2 / 9 * (v1 * v2 * v5 + v2 * v4 * v2 - v2 + v2 / 3) - v3 * (v3) / 8 - v5 * (v4 * v3) * v1 - (v3 - v0 * v0 * v0 - v5 * v0 * v2 + v4) * 16 * v5) / 4 + (v1 * v4 / 4 + (v4 * v2 + v3 + v4 - v1 * v0) - v5 - v5)) * 30 / 2;
+v0 = +26 * v2 - v1 + v2 * (((v2 + v0 * v2 - v2 * v5 * v1) * v1 * (v3 * v5 - v0 - v0 / 3 + v1 * v3 * v2) + (v1 * v5 * v4 + v0 / 1) + (v5 + v3) / 7) * v0 + +0 / 3 - (v0 - (v5) - v5)) * v0;
+v3 = v4 * (-16 - v2 * v2) * v5 - (v3 / 6 - v0 * -23 * (v4 * (v4 * v5 - v1 + v2 - v0 * v2 * v1) - v0 * v2 - (v4 + v5 * v3 + v5 * v3 * v1) * v1 / 8) + v2 * (-2 * v0 * (v0 * v0 * v2 - v5 * v4 * v4) - (v2 * v1 - v2) * v4 * (v3 * v4 * v4 + v5 * v5 * v3 - v1))) + v4 / 2 / 2 + v0 * (((v3 / 8 + v4 - v3 + v3 * v2 / 1) - v3) - v2);
+v3 = +13 - 39 * v3 * ((v2 * v3 + (v1) * 3 * (v3 * v1 * v2 - v1 * v3 - v3)) * ((v3 * v2 + v1 / 9 * v1) / 1 / 3 - (v4 - v2 * v0 * v2 + v4 * v0) * v1 / 1 - v2 * v0 * (v1 * v0 * v2 + v1 * v3 - v4 * v5 / 2 - v5 / 2)) - (-25 / 5) * ((v1 - v1 / 3 * v4 - v4) * (v1 / 8 / 5 - v3) * +39)) - (v0 + v3 / 4 * ((v4 * v5 + v1) * v5) + +22 + v3) * (((v4 * v4 * v3 + v4 * v2) / 4 - (v3 * v1 / 1) * (v0 * v0 + v4 / 6 - v1 * v5 / 9 + v4 * v0 * v0) * (v3 + v1) + v5 + v4));
+v3 = v5 * (v2 - v4);
+v0 = 2 * (v0) * ((v2) * v4 * -39) + v5 + 12 * -14 - -4 * v3 * +27;
+println(v5 + -0 * v4 / 5);
+;
+;
+v1 = (v3) + v5 - v1 * (v5 * v3 - (v2 - (v3 * v3 * v5 - v1 * v3 * v3) * +12 + v3 * 24 * v0) * v3) * v0;
+v1 = v4 * v2 - v2 - ((v4 - (v2 * v0 * v2 + v3 * v2 - v5 / 7) * (v0 * v5) - v0 * (v0 + v5) * v3 - (v3 + v1 * v1 * v4)) * ((v2 * v1 / 6) * v5 - (v3) + (v5 * v2 / 4) * (v0 * v0 / 1 + v5 * v3 - v3 / 5 * v4 + v0 * v1)) - (v5 * v1 - v4 - v5 * v5 * (v0 / 5 + v2 / 1 * v4)) * 33 * v4 - v2 + (+21 * (v0 / 5 + v5 - v3 / 3 * v5 - v0 * v0) * v0 + +27 * -27 + (v0 * v3 + v1 * v1 * v0 - v2 * v5) * v3 / 9 + (v1 * v3 * v0 + v3 * v3) * v2 * (v1 - v0 * v3 - v3 * v1 * v2 - v1 * v4))) * (v2 / 8 * (v0 * v0 * v5 - (v1) * -14 + v1 * 11 + v5) - ((v1 + v4 / 5 * v1 + v0 * v1 + v4) * v5 - v5 - (v2 * v3 + v0 + v5 * v1 * v3 - v0 * v3 * v2) * (v2 * v5 - v4 - v5 * v3 - v0 * v0)) * (v2 + (v3 / 2 * v0 + v0 + v5 * v2 * v4 + v1 * v5 * v1) - -39 * (v2 * v4 + v4 * v1) * 38 + v3) + ((v1 / 5 * v4 - v2 * v0 * v5 - v0 / 4 * v5) - v3 * 29 / 2 + v2) / 2 - v2 * (v5 * -37 + (v2 + v3 + v5 + v5) - +36 - v3) * v4) + v4 / 4;
+v1 = v1 * -31 * +27;
+v3 = v5 * v3 + v2 * v3 * (34 - (v1 * (v2 + v1 * v1 * v2) * v4) * v4 + v0 - v1) - -30 * v2 * (((v1 / 4) * 9 * (v5 * v3 * v2 - v4 * v5 + v0 * v4 * v4 + v4 * v2 / 9) - (v1 * v4 - v5 * v2 * v1 + v1) * v5) / 2 * (v3 / 9 - 10 * v3 - v3) + (v5 - v4) * v4 * (v0 * v2 + v4));
+v3 = (((v1 / 9 * v3 + v2 * v4 * v0) / 5 * v4 - (v3 * v2 * v3 + v5 * v3 * v5) * v5 - v4 * (v2) / 4 - (v1) / 9 * -10) * v1 - (v2 * v2 * v3 + +13 * (v2 * v3 - v5 / 5 * v3 - v0 * v3) / 1 - -10) * v3 * v5 - v3 * 30 * (v2 * (v3 * v1 + v5) * v2 - v4 * v1)) * v1 - (v0 - (+30 - v2) / 2 - v5) * v3;
+v4 = -3;
+v4 = v5 * (-8 - (v1 / 2 * (v2 * v4 / 9 + v5 / 7 - v1) + v2 * v4 - -2) * v1) * -33 + ((v5 - v0 * v4 * +9 - (v0) * (v5 / 1 * v1) * (v0 * v4 * v4 + v5 + v0 * v5 * v4 - v4 * v4)) - ((v4 + v3 / 6)) + 21) / 2 * v4 + v0 * v1 + (-22 * (+17 * -5 - (v4 + v0 / 2 * v4 - v1 * v4) * (v1 - v1) + (v4 / 3 + v1 * v3)) + -38 * ((v0 * v3) * -1 * v1 - v2 + v2 + +22 / 9)) * v3;
+println(v4 * 5 * +9 + ((7 / 9 * v0 - (v4 * v5 / 8 + v2 * v2 / 9) + v3 / 1 - +30 * +15 * (v2 * v3 + v5 * v3 - v1 * v0)) / 8 * ((v5 * v5 - v4 * v0 + v1 * v0 * v2) - v1 / 1 * 4) + -28 * ((v0 * v3 / 2 - v5 * v1 - v1 * v4) * (v2 * v5 * v0 + v0 * v1 - v1 * v4 * v5)) * +22 + v4 * v4 * v5) + ((v5 / 7 / 9 + (v2 + v4 + v5) * (v5 * v4 + v0 - v1 * v3) / 6 + 30 * (v3 * v5 * v5 + v3 / 2 - v0 / 6 + v1 * v0 / 6) - v1) * v1 + (v4 / 6 + -25 * (v2 * v2 * v4 + v2) + (v1 * v2 - v2 * v5 - v1 - v2 * v2) * v5 - v5 * v0) * ((v5 - v5 * v2 * v1 - v3 - v3) * (v1 + v0 * v2) - v1 * v4 * v2) * ((v2 + v2 - v3 / 4 / 5) * 21 * (v0 * v5 * v0)) - ((v4 / 6 + v0 * v0 * v0) * v1 / 5 - v5 * (v1 * v3 * v0)) / 3 * (-37 + (v3) - v4 + v2 * v4 / 1)) * v5 * v5);
+v5 = v2 * (28 - (v1 * (v1 * v4 + v4 * v3 * v2 - v5 * v5) * (v5 * v5 * v1 + v2 + v0 * v1 * v0 + v1 * v2 * v1) - (v4 - v0 - v4 * v3 * v0 + v0 * v0) * v3 * (v3 * v3 * v1 + v5 - v1 * v3 / 8) + -37 * 35 + (v5 * v5 / 7) * (v0 + v1) * v0) * v4 * -1 - +17 * (v2 / 6 * (v2 * v1 + v2 * v4 - v1 * v2 * v1 + v5) - v1 * v4 * v4) * (v0)) * ((v4 / 9 + v4 / 5 / 3 - (v2 - v3 * v1 * v3) * (v2 + v4)) * v5);
+v3 = (v2 * (v1) * ((v5 + v2 * v0 * v1 + v0 * v5 - v0) * v0) - (v2 - v1 * (v3 - v3 * v3 - v5 * v5 - v0) * v5 - v3 * v1) * v5 + (19 * (v4 * v0 * v4 + v1 / 2 + v1) - v2 / 2 * 12) * v5) * (((v2 * v1 * v4 + v1 + v3 / 6)) / 1 * (+5 * (v0 / 9 - v0 - v3 * v4 * v4 - v1) - v5));
+;
+v0 = v3 + (((v5 * v0 * v5) * v4) * v1 * 26) * v4 / 4 + (33 - 23 / 3 - +24 - v1) * v4 - (v3 * -18 * v2 + ((v3 * v1 - v5 * v1) - v1 * (v1 - v2 + v4 * v5 - v0) * (v3 - v1 * v4 * v1 + v0 * v5 / 5 - v2)) * v0);
+v1 = ((v5 * 29 * (v3 * v5 * v1 - v4 * v4 - v1) + 0 + v1 - +3 * v5 * v5) - v5 + ((v3 * v5 + v2 / 1) * v1 * v4 - v3 - v0 * v5 * v3 + 16) * v0 / 1 - v1) * (((v4 * v3 / 2 - v1 + v4 * v4))) * (v4 * v5 + +31 * +22 + (v3 * (v2 + v4 - v0 * v2 * v0 + v2 * v3 * v4) - 20 + v4) / 6) - v5 * v3 / 1;
+v5 = (v5 * v4 * -1 + v4 * v0 * (v0 * v1 - (v4 - v4 * v1 / 5 + v3 - v0) - v1 * v2 * v2) + v5 * v2) * (+30 + +29) - v4;
+v4 = v2 / 7 - (((v0 * v3 * v1 - v1 * v1 * v0 + v3 * v4) * 22) * v3 * +26) * v4 * v5;
+v0 = +39 * ((v1 * v2 + (v3 / 8 - v5 / 2 * v3 + v0 * v3 - v1) - v3 + -33 / 3 * v3) * (v2 - (v4 * v3 * v5 + v4 * v3 * v1 - v4 / 6 - v4 * v2) * (v2 * v1 * v2 + v4 + v5 * v3 / 9 - v5) + v1 - v5 * (v5 + v0 - v4 * v1) * (v0 * v5)) * (-12 * v0 * (v4 * v0 + v4 - v0 * v0 + v2) - (v0 - v1 * v1 / 6 - v2 * v1 - v2 * v3) * 9 * +33 - +7 * (v2 * v3 * v2)) - v4 / 9 - v1 / 9 * ((v0 * v0 + v2 + v2) - (v1) + v5)) * (v3 * v4 * -28 - ((v1 / 5 * v5 + v3 - v0 * v5 - v5)) * v1 * +29) + (v1 * (v0 / 7 - v3 * (v5 - v0 - v2 + v2) + v4) * v0 - (v3 * (v5 * v1 * v0 + v1 - v4 * v2 * v1 - v0 * v4 * v5) * (v0 * v2) + v0 * 29 / 6) * (v4) / 5 + (v0 * (v3) + (v5 * v2 - v5 * v1 - v1 - v1 * v4)) * v4) * v1 - +9 / 8;
+v2 = 38;
+print((v3 * (6 / 6 * v4 + v0 + v0) + v4 * v2 + v2 + (v5 - (v2 * v2 * v2 - v3 * v2 / 1 + v3 * v5 + v0) * (v4 * v4 * v4 - v4 / 7 * v2) * (v1 * v2 - v5 * v2 + v5 + v3)) * v0 / 1) * v1);
+v4 = v5 + (v3 * (v5 - v2 * v2) - (v2 + 27) * v4) + +3 + ((v3 * (v3 * v1 + v4 / 8) - (v1 * v0 * v1 - v3 + v4 * v4 + v2 / 4)) * ((v3 * v3 - v0 * v1 - v2 * v3 - v5) / 6 + v2 * (v0 * v1 * v4 + v3 - v0 * v0 * v3 - v5 * v4) + v0 * (v3 + v3 * v1 * v3 + v3 * v2 / 9 - v2 * v3) * v2 - +10) - +20 + (v4 - v2 * (v3 + v1 / 9 / 3) * v4) - v3) * v2;
+v1 = (v3 / 8 * +35) + v3 * -19 - 38;
+v5 = 28 * v1 + (+33 * 22 + v5 * v3) + (+16 - v3 * v1 + ((v3 / 1 - v2 / 9 * v5) * +11 * -22 + v0 * (v3 * v0 - v0 + v1)) * (v3 * 10 - v0) * v0 + -12 * ((v1 - v0 * v3 + v5 * v3 * v5) * (v4 * v2 - v2 * v1 * v2 - v1 + v0) - (v1 * v1 + v3 + v3 + v1 * v4) * 12 / 2)) * v0 * v3;
+v4 = v2 * (v1 * v4 * (v4 * (v5 * v2 * v1 + v5 * v3 * v3 + v5 / 3) - (v3 * v5 - v4 / 1 * v3) * +25 + (v4 * v0 * v4) / 7) - (v4 / 6 * v2 + v3 * (v1 * v1 * v0 - v1)) * v4) * v4;
+v3 = v2 / 2 * 29 + v1 * ((v3 / 3 - v1 * -9 - v4) + ((v1 * v5 / 8 + v4) * (v3 / 3 - v4 * v4 - v1 / 8) - v3) * 36) / 1 - 16 / 9;
+v4 = v0 * 18 + ((v5 * v1 + +33 + v3 * (v1 * v5 - v3 * v4 * v3) - (v4 * v3 * v5)) - (3 + v1 * (v4 * v2 + v2 / 1) * v1 - (v3 + v1) / 9 - 2 / 7) - v0 * (+5 - v0 + v0 * +17 * (v4 * v3 - v4 / 8 - v0 * v4 + v5 * v5 / 9) - +17 * (v0 / 9 / 9 - v3 * v0 * v2 - v4 * v2 + v5 * v3 * v4) * v4) * +18 + (34 * v1) / 8) * v2 + (1 * 21) * v0;
+v5 = v4 * (v2 * v2 - 27 * v4 + -25 * -8);
+{ v0 = (1 * (v5 * (v0 * v1) / 3) * (v2 * (v0 * v3 * v2 - v0 * v0) + 27 * +35) - v4 * v1 - v5 - +21 * v3 / 6) + (v3 / 4); v5 = v5 + v1 * v5 * v4 - v0 * +29 * (v3 * v2 * (v2 * (v4)) - v2 - -33 * v5 * (v4 * v4 + v1 * (v4 + v4 * v4 * v2 + v1 * v4)) + (v3 + -27 + v4 * -17 / 4) * (v3 * (v4 * v2 + v0 * v5 * v1) / 7)); }
+v0 = ((v2 / 5 * v5 - (v0 * v3 / 3 + v4 / 7 - v0 * v4 - v2 * v4 * v0) * v2 * v3 - v5 * v3 * (v3 - v1 * v2 * v5)) / 9 * 40 - (v0 * (v5 * v4 / 7 - v3) - (v2 * v4 * v4 - v0 * v4 * v0 - v2 * v0 * v2) * v4 * v3) * v5 * (v1));
+print(v0 * v3 * +3 + v4);
+v2 = (v5 - v2) / 3 * (v2 / 8 * v5 + v1);
+v3 = (((v3 - v1 * v5 + v5 * v1 + v5 * v5) * v0 - v0 * (v2 * v5 / 2) * (v0 * v2 - v2 + v3 / 1 / 9 - v0) + v3 - (v4 * v1 / 8 - v1 / 5 * v4) / 3 * v4) - ((v3 * v4 * v2 + v4) * v0 / 9 + (v4 * v3 - v4 + v0 - v3 * v5)) + v0) * v0 + v0 - (v2 * v3 * v5 + (+38 * (v4 - v2 * v3) - v3 - v0 * (v0)) / 4 - v3) - v2;
+v5 = +16 + 22;
+v0 = v0 + ((23 * v1 * (v1 - v1 - v0 * v5 * v5 + v2) + -27 * (v5 * v2 * v4) * +31) * v2 * (+1 - (v1) / 5));
+v2 = (v4 * +2 * -17) * v5 * +1 + v4 * v5 - (+1 * ((v4 - v3 * v5 * v3 - v4 * v1) * +3 + v5 / 6 / 7 - -22 * +16 / 3 + v3 * (v2) * +3) * (+20 / 4 / 5 + v5 + (v3 + v0 - v4 * v1 * v3) * v2 + 14 / 8 * -20) + (32 * (v2 * v3 - v5 * v4 * v2 - v4 - v0 * v2) - v0 * v5 + v4 - (v1 * v1 / 9) * v3));
+v1 = (v0 * -0 + v0 * v4 * +10 - v2 * ((v2 - v5) * -14 - v0 - v1) / 5 - -10 / 8 * +13) * 22 * (((v3 + v4 * v0) * (v5 - v1 - v3 * v1 / 3 - v4) * (v1 * v5 - v0 * v4) + v0) - v2 - 9 * v3 * v4 - (v1 * (v1 + v3 * v2) + v0 + v2 / 5) * ((v1 * v4 + v3) + (v5 - v3 * v1 * v3) * (v2 * v3 * v3 + v2) * v3 - (v2 * v0 * v5 + v4 * v1 * v3))) + v1 + (v1 + (v3 * 4 / 7 + -33 - v4 - +34 / 7 * v3) * (28 * v1) * +20) * (((v2 * v3 + v2 + v2 * v4) * v2 * (v3 * v2)) / 4 - v2 * v5 / 3 - v5 * +30 + v3 * ((v3 - v2 * v4) / 2 * (v2 * v3 * v2 - v4))) * (+38 * v5) - ((v5 / 4) + v5 * v1 * (v2 / 2 * (v5 * v2 * v1 + v1 * v2 * v3 + v1 / 9 + v4 * v3) + v3 * +21 + (v0 - v1 * v4 - v2 + v5) / 8 + v0 * 36));
+;
+v4 = (+28 * v2) * +6 / 4;
+v1 = v0 * +31 * +6 + v4 / 7;
+print((v3 - v4 * (8 * v4 - v1 - (v2 / 8 * v3 - v5 * v4 / 7 - v1 + v2) * (v0 * v5) - -28 * (v2 / 7 - v3 * v5 + v3 * v2 * v1))));
+v3 = +25 * v2 * 13 - 27 * v1 - (+40 / 7 / 7);
+v2 = +22 + 35 / 1 / 9 + v3 * v1;
+v4 = (34 * ((v1 * v0) * v3 * -24 + v2 + v5 + (v1 / 5)) * ((v4 * v0 / 9) * -7 * 23 + v3 / 7 * (v2) + +39 - +1 * (v1 - v0 * v4 + v3 / 3 + v5 * v4 * v0) * v2) + (v5)) * v5 - v1 / 2 * (v1 - v3 / 2) - (v5 * v3);
+v3 = -16 * v3 * ((+2 / 8) * v2) - v5 / 4 * -34 - v5 * v3 * (v5 + (v0 * v0 - (v4 * v4 - v3 - v0 * v5 * v3 - v2 * v3) * (v2) * v0) * +17 + v5 - ((v5 - v3 * v1) * (v4 * v1 * v1 - v5 * v1 * v3 - v0 * v0 * v3 + v5 * v2 * v0)) / 8 * v5) - v4 * (v2 / 6 / 3 + (v1 / 9 * v0 - v3 * (v3 * v5 * v1 - v4 * v2 * v1 - v2 * v5) * (v4 + v0 * v0)) * +2) * v5;
+v0 = (v3) * (25 + v5 - ((v5 * v1 * v4) * (v3 * v0 * v5 + v4 / 9 - v4 * v4 - v5)) / 4 * v3 - v5 / 7 * v2);
+v2 = (v0 - 12 - v2 / 2 * v1 + 29 / 5 * (+2 + v2 * v3 + v1 + v2)) + 18 * (v4 - v3 + v5);
+v0 = ((v3 / 6 * v4 - (v2 * v5 - v5 - v5 * v3 + v3 * v1 * v0) * -20 * v1) * v2 * v3 + ((v1 * v1 * v3 + v1 + v4 * v0 * v4) * -8 * (v5 * v0 - v2 - v4 * v2) + -27 / 4 + (v2 + v2) * v5) * (v3 * v5 + v1) * v5 - -1) / 4 * +30 - (-37 * ((v2 + v3 * v5) * v1 + (v1 * v0 + v0 * v3 * v4) / 1 * v4) + v2 * 32 / 1 - v0 * -5 * 3 - (v3 - (v3 * v5 / 3 + v1 * v5 - v4 * v2 / 2 - v0 * v1 / 8) * v0 - v3) * v0) * (16 * ((v0 - v4 / 1 * v5 - v3 * v2 + v2 * v1 * v3) * (v4 * v5 / 9) * +10 - v2 + v2 * (v3 * v0 + v2 + v0 + v3 * v3 * v4) / 6)) - (v3 * v3 * +1) - v5 * -18 * v3;
+v5 = v0 * ((v1 / 4 * v2 - 36 * v2 * -34 + -35 / 9)) - -36 * v2 * (((v1 * v2 + v5 * v3 * v3) + v0 + v4 * 39 * +33 - (v4 * v3 * v0 + v4 + v4 - v1 / 3) * v1 * +2)) - 26 + (v5 * v1 + ((v3 * v4 * v0 - v0 * v1 / 4 - v1) * (v5 / 4 * v0) * (v5 - v2) - (v0 * v0 * v1 + v3) * (v0 - v5) - v5) / 5);
+v5 = v0 * v2 + v1 * v2;
+println((v3) * (-13 / 5 + v3 + (v3 * +39 * v4 - 31 * 31) / 3) + ((v5 / 6 * v1 + -10 + (v3) + +8 * -20) * ((v4) * v5)) / 8 - (v0 * v3) * 18 * (21 / 8 / 1 - ((v0 + v5 * v5 / 2 + v0) * v3 * v4 + v2 + (v3 * v2 - v3) - v0)) + v5 * -19 * 25);
+v2 = v5;
+v3 = (v5 * (v2 * 23 / 2 - v5 * -27) / 9) * v0 + v0 * 36 * v1;
+v4 = 25 + v5 / 2 - (-33 * v1) * +25 - v4;
+v2 = -28 * v0 + v0 * -22 / 8;
+v3 = (((v4 * v2 - v0 / 8) * (v1 * v4 * v2 - v5 + v4 - v3 / 4 * v5) + (v5 + v3 * v5 - v3 * v2) / 8 * v4 + v5 * v1 + 4) + v4 - 23 * +35 * (v1 - (v2 * v3 - v3 * v1 * v5) / 8)) + v3 - v3 / 3 * v2;
+v2 = +12 * (v2 + (v3 - 12 + v5 * (v2 * v5 * v0 - v4 * v4 - v2 * v2)) * v2 * ((v0 * v5 - v1 + v2 * v0 - v0) * (v3 / 9 * v5 + v1 * v1) * v5 - v4 - +27 * v3 * (v5 * v5 - v2 * v2 * v5 - v4 * v0)) - (v2 / 8) * (v5 * 12 * v2 + -27 * (v5 * v4 - v0 - v4 * v2 * v0) * +28 - -20 / 7 - v3) - v1 / 5) / 9 + +22 * v1;
+v3 = (v1 + +18 * (v1 * 20 / 6 + v0 * v1 * v2 + (v5 * v3 * v4 - v4 / 7) * v3 * (v1 * v0 * v5)) * v4 + v3) - v0 / 3 * (v3 - (-8 + -19 * 39 - v5 * +9 * v2 + v3) * v4 - v2 * v0 + (+24 * v4 - v2 + (v2 + v0 - v3 * v2 * v3 - v3 / 8) * v4 * (v1 * v3 - v4 * v5 / 4 + v1 * v3 * v4 - v3 / 3) - (v1 + v2 * v5 * v3) * v4) * v2) + v0 * (-14 * (v3 * v0 - v1 * (v2 + v0 / 7 * v0) * v2 + (v3)) + +32 * v1 * (v3 * (v3 * v1 * v2 - v2 * v4 * v1 + v4 / 2 + v1 * v5) - v3 * +9 / 4 + v0 * v3) - v3 + v3 * v2) * v5;
+v4 = v5 / 2;
+v4 = v3 * (v3 + v5 * v3 + +16) * v4 - v4 * v0 / 7 + v2 * ((v0 * (v2 * v3 / 6 - v0 * v3 * v3 - v4) - (v4 - v2 + v4 * v4) - +22 * (v3 * v1 * v4 + v2 * v3 - v5 * v1) / 4) * +14) * v0 + -3 * v5 / 8;
+print(v2 * v5 + +28 / 6 / 9 + (28 * +36 - v2 * (v1 * v4 / 2 - (v5 * v1) * (v2))) * v5 * 13);
+v5 = (v2 + (v1 + (v0 * v4) * (v4 * v5 + v3 - v2 * v2) * (v5 + v5 - v4 + v3 / 8 * v1)) * +40 + ((v5 * v2 + v4 + v2 * v0 / 2 + v2 * v4) * (v3 - v4 * v2 * v4 + v5 * v4 - v3) - v1 * v0)) * (v2) - v1 + (((v1) * 20 * (v1 * v4 * v4 - v4) - v5) * ((v3 * v0 * v0) * v0 / 1 + (v2)) + (v1 * (v2 * v5 * v1 + v2 / 7 / 5 + v1 * v2 + v0 * v2) * v3 - v5 - v4 / 9 * v1) + v0 * 36) * v4 + v0;
+v0 = v2;
+v2 = v1 * v5 * v4 - v5;
+v1 = ((v0 / 6 - (v2 / 6 * v5 + v0 / 9 - v4 / 6 + v3 * v2 * v2) / 7 / 3 + (v3) * (v4 * v5 - v0 * v5 - v2 * v1 + v2 * v3)) * v2 - 21 * v4 * 3 - (v2 - v0 * v2 / 4 - (v2 * v4) / 7 * v4) * ((v3 - v4 / 8 * v5 + v1 * v1 * v0)) * (v0 * (v5 / 5 * v4)) + v2 * +21) + (-7 - ((v4 / 8 + v4 / 7 - v4 * v2 * v3) * 4) * (-28)) / 6 / 2 - v3 * -29 / 1;
+v5 = ((-3 * v0 - (v2 / 7 * v1 + v3 - v2)) * +10 + +11 * 37 * -31 + v2 * -34 * v2 + ((v5 / 5 - v2 / 8 + v5 / 2) + v0 * -37 * +24 + v3 * (v0 - v0 * v4 * v2 + v0) / 4)) / 7 * +6;
+v1 = (v4 * -38 + v4 * v5) - v0 * (+22 * v2 - (-39 + 14 * -21) * v5 * v2 + v5 * -22) - v2 / 1 - 35 * -25 * v2;
+v4 = (v0 * v3 - v1 + 39 * v3 * v5) * (v0 * -27 * +12 + (+8 + v0 - v4 - v4) * v2 * v5 + +27 * -17 * v0 + (v2 * -2 * (v2 - v2 * v2 / 3))) - v5 * +16 * +0;
+v5 = ((v3 * v2 + 37 * +33 * v0)) + v3 * 0;
+v5 = (((v0 + v0) - v4 + v2 * v4) + 30 * ((v3 - v1 + v1 * v5) * (v5 / 4 * v4 - v4 * v0 * v0 - v0 - v3 / 3 / 1) + -34 * v1) * v4 - ((v0 + v0 / 9 * v2 - v2 * v3 + v3 / 7 * v1) * v5 * v2 + (v2 / 5 / 4) * -26 - (v3 / 4 * v4 - v3 * v3 + v0 * v2 + v2 * v2 * v2) - (v0 * v1 - v3 * v5 - v4 + v1) / 5) * (v2 * +30 * (v2 - v0 / 9) + v5 + +34 + +10 * v3));
+println(+12 * -16 + 26 / 4 * (+14 * 34) + v4 + 19 * (v2 / 2 * (v5 + (v4 / 2 * v1 + v4) * v3 * v2 + (v4 - v3 * v4 - v1 * v3) * (v4 / 4 / 8 - v2 - v1 - v2 / 8 * v1) + 2 / 2) + v1 * v4));
+v2 = (v2 / 4) - 21 * v1 * -8 + v5 - v4 * v2 * (((v2 * v3 + v0 * v4 + v4 * v1 + v3 * v2)) * (v4 / 3 * +37 + v3 * (v3 * v0 - v5 - v2 * v0) + v0 - (v1)) * (-31 - (v0 * v4 / 2) / 5 + v4 * v5 * +20 - v4) + v5 * (v1 * v1 + 8 * v5 / 4 - (v4 + v2 * v1 + v3 - v1 * v3) * (v5 * v0 + v1 / 8 * v0 - v5 * v2) - (v1 - v3 / 5)) * (v4 * v0 * v3 + -35 + v4 + v2 * +39 / 5));
+v3 = v2 * -33 / 9 + v5 * 5 / 8 - +40 * (-33 * v1 - v0 * v4 * (-18 * (v1 * v4 * v0 - v4 * v2 + v1 * v1) * v0 + (v3 + v3 / 9 * v5 + v5) * 36 / 3 + -40 / 5)) - v5 * (((v0 + v1 * v1 - v2 * v5 / 8 + v3 / 1) + v1 + (v0 * v4 * v4) * (v5 * v0 - v4 * v3 + v4 / 2 - v0 * v1)) / 7 + v1 * v1) / 1;
+v0 = v4 + v1 * ((v2 + v3 * v5 - v5 * v2 * (v2 / 2 / 6) + (v0 / 1) * +32) * v1 / 3 - (-12 + (v3 * v4 / 9 - v1 * v5 * v1) - v4 / 7) * (v3 - (v0 * v0 * v2) - -5 + v1 * 40) + (v5 * v4) * (v4 / 2) / 7 - (v3 + (v2 * v4 - v1 * v0 * v1) * v5 * v3 + v3 * v3) * -2) * 36;
+v2 = -12 * (((v4 * v4 * v1 + v3 / 4 * v2) - (v4 + v5 * v4 - v1) - -39 - (v4 * v4 * v1 - v2)) * 7 + 16 * ((v0 * v3) * (v3 - v2 * v2 * v3 - v5 * v5 * v1) * (v2 * v1) - -11 * (v1 * v3) * v0) + (-8 * (v0 / 8 / 2 + v5 / 5) - -34 / 4) * v1) + -13 * (((v1 * v2) - v4 * (v4 * v4 - v5 * v3 * v4 + v2) - (v0 * v2 * v3 + v0 + v3) * +31 * v1) * (v5 * v4 + 24 - v5) + ((v1 * v1) * 26 * +2 + -31 * v2 * v0 - (v4 * v4) - v1 * +34) - v1 * (v0 + -10 * 23 * v2)) * v2 - v3 + v4;
+v5 = v2 * (v1 / 4 / 5 + (v5)) - v3 * v5 * (((v0 * v1 + v2 - v4 * v5 - v5 * v0 / 3) * v3 - v2) - (v0 * v1) * -35 * -6 - ((v5 - v2 + v5 + v2 / 7) / 5 * -26) * ((v1 * v4 * v1 + v1 / 5 * v4) * (v1 * v5 + v2 - v5 * v4) * (v4 * v0 - v0) - v4) * (v1 - v4) + v0 * (v3 + (v0 * v2 / 8 + v4 * v4) + +28 * v2) * (v2 + 39 + -2 * v3 * +8 + v4)) + v5 - ((v0 * (v3 * v4)) * v0 * v4 - ((v1 * v4 + v4 * v2 / 4 - v2 + v5) * (v0 * v5 * v0 + v5 * v4 / 6 - v0 * v5 * v5 + v2 * v1 * v3) * v1) / 2) * v4;
+v3 = -12 * 28 * v2 + v2 * ((v2 * -11 * v2 - (v5 * v1 + v3 * v2) / 6 * (v2 * v0 * v3 - v4 * v3 + v5) - (v2 * v2 - v0 * v0 * v1 - v3 - v4 * v4) * v5 * v0) * v4 * v0 - ((v2 / 7 * v2 + v5 - v5 * v1 * v2 - v0 * v3) - (v4 * v4 - v4 * v1 - v5 + v3) * v0 + +24 + v4) * ((v1) + (v5 * v0) * (v0 * v4 * v2 + v5 + v4 * v0 * v5 + v1 / 7 * v3) * v0) * -4 + ((v3 - v0 + v2 * v4 + v5 / 1) + v4 * v4 * (v0) - 32 * (v5 - v2 * v2 - v5 + v4 * v3) * (v1 * v5 * v3 + v3 + v2 / 1 * v4)) * v3 * v1) - v5 * v5;
+v4 = v4 * v5 * ((+16 * v1 * v0 + v1 / 9 + v1 + (v2 / 3 * v2) / 5) + v0 * 36 * v2) + (v1 * v4 + v4 * -35 / 7 - v3 * 12 * (v4 * v0 * (v4 * v3 * v3) - v3 * v2 * 35 + -3 * v4 * v3)) * ((+37 * v2 * (v5)) * v0 + ((v2 * v2 * v0 + v1 * v5 * v3 + v3 - v3 * v3) * 5 + (v0 * v2 - v2 / 1 / 4 - v2 - v0 * v5 / 6) + 17 + v1 * (v5 * v0) * v1) - v0 * v2);
+v0 = ((+5) + (v0 * v5 + (v0 * v0 * v2 + v4 * v4 * v1) * v5 - v3) + v4 * ((v1 * v1 / 5 - v4 * v2 * v5) - 1 * (v1)) * (21 + +8 + +27 / 7 * v3 + (v2 * v3 * v0))) + v2 - v2 / 7;
+v5 = (14 * v4 * v4) * v3 * 20 - +18 * v5 + v5 * v3;
+println(-25 / 2 - v2 * v3 * 21 - (v2 / 5 - v1 * v2 * v2 - v4 / 2 - (22 / 1 - (v5 + v4) * -25 - v3 / 6 * v2 - v3 * (v2 * v3 * v1 + v2)) * -39 * (v2)));
+v5 = (40 * ((v2 * v1 / 1 - v2 / 7 / 3) - v4 / 1 / 3)) - v1 - v2 * v1;
+v2 = ((v1 * (v1 * v5 * v3 - v5 * v0 - v1)) / 3 + v0 / 4) - (((v2 * v0 * v2) / 1 * v0 + v2 * (v3 - v1 * v2 * v4 - v3 * v5 * v5) * (v5 * v2 * v1 - v5 - v5 / 8) - v5 * v2 + v3) * v1 + v3) * (+26 * v2 * (+40 * v5 / 1)) / 6 - +13 * v4 * v5;
+v3 = -35 / 9 - v2 * v5 + v3;
+v3 = v0 - v4 / 9 + +5 * ((v5) - (-18 * (v4 * v0 * v0 + v3 * v2 + v4 + v1 * v0 * v2) * (v2 * v1 - v0 * v4 / 3 + v1 * v1) + (v1 / 5 + v4 / 5 - v4 * v2 - v1) + v3) * v1 * (v2 - v3) - -40 * +21) * v2 - -34 * (((v0 * v2 + v2 * v1 * v1 + v2) * v1 * v1 - -4 * v5 - (v5 * v5 + v1 * v3 * v0 + v1 / 5 * v2 - v3 * v2 * v0) - v1 * 31) + (v2 * (v2 * v5 + v1) - (v2 * v5 + v1 * v1 * v4 - v4 + v0 * v1)) + (14 * v3 + v0 * (v4)) - 26 * v5 * (v0 / 3 / 8 + 32 * v4 * (v4) + v4)) * (v0 * v3 * v4 - v3 * v4 * v4);
+v4 = (v4 / 3 * v0 + ((v4 * v1 * v4) - +6 * (v3) - v4 - v0 * v4 * (v4 * v3 - v0 - v1 * v4))) * ((v3 / 2 * v0 + +36 * +5) + v4 - ((v1 + v2 + v3 - v3 * v1 * v0) * v0 * v4 - v2 + (v4 + v1) * v1 * v5 - +15 * v2) / 2 - (v2 * v4 * (v0 * v3 * v5 + v3 * v2 * v2) + v5 * (v0 * v3 * v5) - v2 * -1 * v0 - -23 * v3 / 8) * (-21 * v5)) + v0 / 7 * ((v5 / 5 - v4 * (v5 * v4) - v4 * 19 * +9) * v5 + ((v2 - v4 + v3) * (v5 * v1 * v3) * v1 + v4 * v1 - (v2) * v5 / 2 - v4 * v4) / 4 + ((v3 * v3 + v1 / 1) / 9 * v4 + v0 * v0 - v1 * v4) * (v5 * v4) * v2);
+v2 = v2 * +2 - 12 * +19 * v0 - +23 / 8 * v0 - (((v4 * v1 - v4 * v0 / 4 - v0 / 7 * v5 + v1 * v4 * v0)) / 9 * -27 + v3 * (v4 + (v3 * v0 - v0 * v0 / 6 + v2) + v4 * (v5 * v4 / 3 + v2 * v3 * v0 + v5 * v4 + v0) + (v2 + v1) * (v5 * v4 - v5 * v3 * v0 - v2 * v2 - v3 * v3 * v1)) / 2) * v3;
+v5 = +28 + v1 - v5 / 2;
+v3 = v1 / 2 / 7;
+v3 = ((v2 * (v0 * v5 / 6) - (v2 * v5 / 6) * v1 * (v4 / 1) + 21 * 10) + v4 * 15 / 5) - (v5 + (v3 - v4 - (v0 / 2 * v5) * v0) + 1 + (v5 * v5 * v5 - v3 * (v4 * v2 - v4 / 1) * +26 - v4 * v1 * v2) * v3 * ((v4 * v3 * v5 + v4 * v2 * v4) * v4 * v0)) * v4 - v1;
+println(v3 / 7 - v1 * (v5 + v1 * -7 - +39 * v5 * (v5 / 3 + v2 - (v2 * v0 * v1 + v2 * v1 - v2 / 6 + v2 * v5 * v2))) - 9 * (v3 + (-30 + +3 / 2) / 8 * ((v2) + (v3 - v1 * v1 - v4 * v2 * v3) * v4 - v2 / 3 + v5 * (v1 / 7 + v0 * v4 / 2 - v4 * v4 + v0 / 2 / 8))) * v4 - v2 / 2);
+v1 = v2 + v2 - (v4) + (v4 * v1) * -4 * v3;
+v0 = v1 - v4 / 6;
+v5 = 35;
+v3 = v0 / 7 - ((v2 + v2 * v0 + v4) * -23 - +28) * (((v1 + v3 * v0 * v5 + v0 * v4 - v1) * 21 - (v0 * v3 / 2 + v5 + v1 * v4 * v5 - v0 * v4) - 6 - -16) + v4 * +8 - +27 * v2 * v0) - (v1 - (v3 * 1 - (v5 / 3 * v0) * (v2 * v4 - v1 * v2 * v3 + v5 + v1 / 8) + -22 * -3 * v4 - -9) * +11 * (v4 * v0 * v0 - v4 * -37 + (v1 * v2 - v3 - v2 / 2 * v3 + v2 * v5 * v0))) * v0 * v4;
+v3 = (((v3 * v3 - v4 * v5) * (v5) - v0 / 4 - v3 / 3 / 8) * +2 * (v5 * -2 - (v0 / 7 + v4 - v0 * v2 * v5 - v3) + v0 / 4 * v5) - v4 * ((v5 / 7 + v1 + v4 * v4 - v3) * 29 * v5 + (v5 / 3 * v1 - v3 * v1 * v4 - v5)) * (v0 / 2 + v5) - ((v5 * v0 * v2 - v4 + v1 * v1 / 1 + v3 * v4 * v5) * 13 - v2 - v4 * v1 - v4)) * v3 / 9;
+v1 = v0 / 3;
+v2 = (v5 + +17 * ((v0 * v1 * v5 + v3 * v4 - v4)) * v2) - 25 * 38;
+v5 = v2 - v2 * v4 / 7;
+v4 = +30 * -29 - (v5 + v2 * +1 - v5) + 35 * ((v0 * (v5 * v5)) + v4) + 31;
+println((v4 + -18) + v0 * 22);
+v4 = v4 * (29 * +21 / 2 + (-11 * -20 * v3 - v5 * +24 - (v3 * v4 / 5 - v1 * v2 - v0 / 5 - v4 * v1) * v0 - v4 * +20 * (v1 * v4)) * (v5 * +15 * 36) + v5 * v0 / 1) + v5 * (((v4 * v5 + v4 * v4) * v1) * (v3 * 37 * v0 - (v2 * v4 * v5) + (v4 + v1) - -22 * v2) - v5 * ((v4 * v1) * (v1 * v3 * v4 - v5 * v4 * v3)) * +7 - 17 + ((v5 * v1 / 9 - v4 / 5 / 3 - v1 + v1 * v0 * v5)) * v5);
+v3 = +20;
+v0 = v2 - v1 * v0 - v1 * (((v0 * v1 - v3 / 1 * v2) * v1 + v2 * v1) - (+37 * (v3 * v0 / 6 - v0 * v5) * +34) / 6 * -32 - v5 / 4 * v5 - v5 * ((v4 * v2 * v5)) * v2) * v4;
+v5 = +2;
+v4 = -27;
+v1 = (+23 * ((v2 * v1 - v2 + v3) - v1) * v4 - v0 / 1 - v4 * ((v2 * v4 - v2 * v2) * v2 - v2 * v5) + v3 / 1) / 8 / 5 + v1 / 6 / 9;
+v4 = (17 * v2 - v4 * v2 * (-17 - v1 * v2 / 6) - v4 * (17 * v4 * v1 - v2 * v3 - v0 * (v4 * v5 * v3 + v5 - v3 / 5 - v2 * v1 * v5) * 10 + v1 * v2) - 30 * (v1 - -7 + (v1 * v0 / 9 + v4 * v1) * (v0 * v4 * v3 - v2 * v3 + v3 * v2) / 4)) * +38 + v3 / 3 - 17 + v1 / 5 * v2;
+v0 = v0 * ((v3 - -37 - -21 * 36) + -7 * v3 - 36 * (-26 - v1 * +4 - (v5 * v3 * v2 - v2)) + v0 * v4 * v5);
+v1 = ((-33 / 8 / 7) * 6 * (v3 * +24 - (v5 * v1 - v0 + v3 - v1) - v5 * (v1 * v2) + (v3 / 9 * v0) * v4) + v1 * v2 * -8) - v3 * v0 * 20 - v2 * v0 + ((3) * 24 - -26 * (v0 * v5 * +15 + v4 * 8 / 3) - ((v1 * v5 + v3 / 4 - v5) * (v1 * v3 - v5 / 2 * v4 - v1 * v3 * v3) + v1 + v0 / 4) * (v4 - -15 * (v4 * v2 - v1 * v3 / 8 + v5) * v5 + (v5 * v0 * v1) * v0 * v4) * v2 + v3);
+println((v4 * ((v2 * v5 * v4) * v5 + 18 * v3) - v1 * v0 * ((v5 * v5 + v4 * v4 + v0 + v0 * v5 / 6) - v3 / 6 + (v3 * v5 * v2 + v4 / 6 - v0) * (v4) * 16) - v4 * v0 * -29) * +35 - v4 * (((v1 - v5 * v0) * (v1 * v3 * v3 - v2) * v3 - 0) * ((v0 * v4) - v1 * +11 * (v4 * v1 - v0 * v5 - v5 - v1)) + (v2 + v0 * v3 * +34 + +23 * (v4 * v3 * v4) * (v4 * v5) + v5) * v2));
+v1 = (v3 * +21 * +36 + (+24) + v1 * v2) - v4 * (v2 + (+0 + v1 - v3 * (v2 + v5 * v4 - v4 / 5)) * v4 / 2 + ((v1 + v3 * v4 + v2 * v2 - v3 * v1 * v5) * v1 + (v4 - v2 * v4 + v2 * v4 * v4 + v4 * v4 / 1) * v4 / 6 + v5 * v0) * ((v5 * v3 + v1 * v2) * v2 - 14 * v0 + +2 * 6 - (v4 + v1 * v2 - v0 + v1 * v4 / 6)) * v2 + +10 * v1 * v3) * (((v5 * v4 + v1 * v4) * v2 * v1) + (-22 * (v0 * v0 + v2) + v1 * (v3 * v5 * v4) * v4 + v5 + 17) * v4 * v5);
+v4 = (v4 / 6 / 6 + (-17 * -23 * v2 - v2 - (v1 + v3 - v0 * v5 - v3 / 1 * v3) * v3 + (v0 * v1)) * (1 + (v0 * v5 + v5 * v3 * v4) - 31) / 7 - -14 * (+17) + v1 * v3) + v1 - v1 * 3;
+v4 = v3 * v4 * v5 + v2 - v1;
+v4 = v0 * v0 * v5 + v5 * (((v5 * v4 * v3) * v0 * (v5 * v1 - v4 / 1)) * 7 * 14 + (v5 + v1) * 5 + v0 * v4 + v2);
+v0 = (((v0 / 4 * v5 - v3 * v5 * v4 + v2 * v4 * v4 + v3) * +31 / 7) - 25 * ((v2) - +4 * v3 - v2 * v0) / 1) * (((v5 * v1 + v5 + v4 * v2 * v5) - (v0 - v2 / 7) * v1 + -1 * v2 - (v1 * v5 - v3 + v2 + v5) * v4) * v4 - -22 + v5) * (+15 * v4 * -7 + v1 * ((v1 * v1) * -37 / 9 - v2 * v0 * v3 + -29 * (v3 * v4 * v4 - v2 / 5 / 4 - v2 / 4) * v4) * ((v2 * v1 * v2 - v4 * v0 - v4 * v2) * v1 * v4 + -31 * 24 / 7 - v2 * v5 * v3)) + v5 * v3;
+v2 = 12 * v0 + v3 / 1 + v1 * -36 * v0 + ((v2 * (v5 * v5 * v0 + v4 / 2 * v5) + 1 - v1 / 1 / 9) * v2 * +8 - -23 / 8 * (v2 - -1 / 3 * (v2 * v5 * v0 - v2 * v5 - v5))) * v5 * ((-24 + v3));
+{ v4 = v3 - v5 - v5 / 2 + v3; v1 = v4; }
+v4 = ((+21 + v1 + (v3 * v1 - v0 / 3 * v4) * -9) / 6 * (v2 * (v3 * v1 + v1 + v1 * v1) / 2 + v3 * +9 / 6 + v0)) * (+13) - (15 * v2 + v3 * ((v4 * v4 + v1 + v5 * v0 + v0 * v0 * v1) * v2 * v5 - v2 * (v1 * v5 / 8 - v4) / 1) * v5 + +16 * v5 * v2) * +32 + v5 / 1 * ((+27 * v4 + v3 * (v2) / 8 - (v3 * v5 - v4 * v0 + v1 * v0)) * v4 * v5 - v1 * v0 * 16);
+v0 = v0 * (((v3 * v2 * v4) + -33) + (-16 + v4 - (v1 / 4 / 3 + v1 / 7) * (v1 - v3 / 6 * v4) * 9) / 5 + v2 / 5 * (-3 - v5 * (v4 * v2 * v5 + v0))) - +23 * (+31 * v5 * (v3 * v2 + (v4 * v2 - v5) * v1)) - v4 / 6 * (v5);
+println(v2 * (v5 * (16 * +39 * v3 + 11 + v3) - v4 * v3 - v3) * v0 + +40 * (6 / 1 * v0 + v0) * v3 + (v4 * v2 * 14) * 38 / 8 - ((v5 * (v5 * v4)) * 9 + (-3 + v3 * (v0 * v1 - v1) - v0) / 7 - v3 + -25 * v4 * v5) / 2);
+println(v0 + v1 + v2 + v3 + v4 + v5);
@@ -0,0 +1,3 @@
+x = 1;
+print("a\"b");
+y = (x + 2 * ;